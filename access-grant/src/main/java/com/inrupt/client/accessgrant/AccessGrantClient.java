@@ -495,19 +495,16 @@ public class AccessGrantClient {
     <T extends AccessCredential> Map<String, CredentialFilter<T>> processFilterResponseHeaders(final Headers headers,
             final CredentialFilter<T> filter) {
         final Map<String, CredentialFilter<T>> links = new HashMap<>();
-        final List<String> linkHeaders = headers.allValues("Link");
-        if (!linkHeaders.isEmpty()) {
-            Headers.Link.parse(linkHeaders.toArray(new String[0]))
-                .forEach(link -> {
-                    final String rel = link.getParameter("rel");
-                    final URI uri = link.getUri();
-                    if (LINK_REL_VALUES.contains(rel) && uri != null) {
-                        final String page = Utils.getQueryParam(uri, "page");
-                        links.put(rel, CredentialFilter.newBuilder(filter).page(page)
-                                .build(filter.getCredentialType()));
-                    }
-                });
-        }
+        headers.links()
+            .forEach(link -> {
+                final String rel = link.getParameter("rel");
+                final URI uri = link.getUri();
+                if (LINK_REL_VALUES.contains(rel) && uri != null) {
+                    final String page = Utils.getQueryParam(uri, "page");
+                    links.put(rel, CredentialFilter.newBuilder(filter).page(page)
+                            .build(filter.getCredentialType()));
+                }
+            });
         return links;
     }
 
@@ -26,6 +26,7 @@ import com.inrupt.client.ClientCache;
 import com.inrupt.client.Request;
 import com.inrupt.client.auth.Authenticator;
 import com.inrupt.client.auth.Credential;
+import com.inrupt.client.auth.CredentialIndex;
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.spi.ServiceProvider;
 
@@ -42,6 +43,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentSkipListMap;
 
@@ -59,12 +61,15 @@ public final class AccessGrantSession implements Session {
     private final Session session;
     private final NavigableMap<URI, AccessGrant> grants = new ConcurrentSkipListMap<>();
     private final ClientCache<URI, Credential> tokenCache;
+    private final CredentialIndex tokenIndex;
 
     private AccessGrantSession(final Session session, final ClientCache<URI, Credential> cache,
             final List<AccessGrant> grants) {
         this.id = UUID.randomUUID().toString();
         this.session = session;
         this.tokenCache = Objects.requireNonNull(cache, "Cache may not be null!");
+        this.tokenIndex = new CredentialIndex(() ->
+                ServiceProvider.getCacheBuilder().build(1000, Duration.ofMinutes(10)));
 
         for (final AccessGrant grant : grants) {
             for (final URI uri : grant.getResources()) {
@@ -107,6 +112,16 @@ public final class AccessGrantSession implements Session {
     public void reset() {
         session.reset();
         tokenCache.invalidateAll();
+        tokenIndex.invalidateAll();
+    }
+
+    @Override
+    public void invalidate(final Request request, final Credential credential) {
+        final URI key = cacheKey(request.uri());
+        if (credential.equals(tokenCache.get(key))) {
+            tokenCache.invalidate(key);
+        }
+        tokenIndex.invalidate(request.uri(), credential);
     }
 
     @Override
@@ -135,6 +150,14 @@ public final class AccessGrantSession implements Session {
         return session.getCredential(name, uri);
     }
 
+    @Override
+    public CompletionStage<Optional<Credential>> getCredentialAsync(final URI name, final URI uri) {
+        if (VERIFIABLE_CREDENTIAL.equals(name)) {
+            return CompletableFuture.completedFuture(getCredential(name, uri));
+        }
+        return session.getCredentialAsync(name, uri);
+    }
+
     @Override
     public Optional<String> selectThumbprint(final Collection<String> algorithms) {
         return session.selectThumbprint(algorithms);
@@ -145,6 +168,11 @@ public final class AccessGrantSession implements Session {
         return session.generateProof(jkt, request);
     }
 
+    @Override
+    public void updateNonce(final URI uri, final String nonce) {
+        session.updateNonce(uri, nonce);
+    }
+
     @Override
     public CompletionStage<Optional<Credential>> authenticate(final Authenticator authenticator,
             final Request request, final Set<String> algorithms) {
@@ -152,6 +180,7 @@ public final class AccessGrantSession implements Session {
             .thenApply(credential -> {
                 if (credential != null) {
                     tokenCache.put(cacheKey(request.uri()), credential);
+                    tokenIndex.put(request.uri(), credential);
                 }
                 return Optional.ofNullable(credential);
             });
@@ -163,7 +192,8 @@ public final class AccessGrantSession implements Session {
         if (cachedToken != null && cachedToken.getExpiration().isAfter(Instant.now())) {
             return Optional.of(cachedToken);
         }
-        return Optional.empty();
+        // Fall back to a token negotiated for a resource in the same container hierarchy
+        return tokenIndex.get(request.uri());
     }
 
     static boolean isAncestor(final URI parent, final URI resource) {
@@ -61,6 +61,16 @@ public interface Client {
          */
         Builder withInstance(HttpService instance);
 
+        /**
+         * Add an interceptor to the builder.
+         *
+         * <p>Interceptors are applied in the order in which they are added.
+         *
+         * @param interceptor the interceptor
+         * @return this builder
+         */
+        Builder interceptor(Interceptor interceptor);
+
         /**
          * Build the client.
          *
@@ -0,0 +1,55 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Request.BodyPublisher} that streams data from a file.
+ *
+ * <p>The file is reopened each time the request body is read. An {@link com.inrupt.client.spi.HttpService}
+ * may also send the file directly, using the file transfer of its HTTP library.
+ */
+final class FilePublisher extends InputStreamPublisher {
+
+    private final Path path;
+
+    public FilePublisher(final Path path, final long length) {
+        super(() -> {
+            try {
+                return Files.newInputStream(path);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error reading request body from file", ex);
+            }
+        }, length);
+        this.path = Objects.requireNonNull(path, "File path may not be null!");
+    }
+
+    @Override
+    public Optional<Path> getFile() {
+        return Optional.of(path);
+    }
+}
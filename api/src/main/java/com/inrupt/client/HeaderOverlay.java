@@ -0,0 +1,87 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A read-only map of headers that replaces the values of one header in another map of headers.
+ *
+ * <p>Lookups are answered without copying the underlying map, which is only merged with the replaced
+ * header if the complete collection of headers is requested.
+ */
+final class HeaderOverlay extends AbstractMap<String, List<String>> {
+
+    private final Map<String, List<String>> headers;
+    private final String name;
+    private final List<String> values;
+    private volatile Set<Map.Entry<String, List<String>>> entries;
+
+    /**
+     * Create a header overlay.
+     *
+     * @param headers the underlying headers, with case-insensitive lookups
+     * @param name the name of the replaced header
+     * @param values the values of the replaced header
+     */
+    HeaderOverlay(final Map<String, List<String>> headers, final String name, final List<String> values) {
+        this.headers = Objects.requireNonNull(headers, "Headers may not be null!");
+        this.name = Objects.requireNonNull(name, "Header name may not be null!");
+        this.values = Collections.unmodifiableList(Objects.requireNonNull(values, "Header values may not be null!"));
+    }
+
+    @Override
+    public List<String> get(final Object key) {
+        if (key instanceof String && name.equalsIgnoreCase((String) key)) {
+            return values;
+        }
+        return headers.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (key instanceof String && name.equalsIgnoreCase((String) key)) {
+            return true;
+        }
+        return headers.containsKey(key);
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        Set<Map.Entry<String, List<String>>> value = entries;
+        if (value == null) {
+            final NavigableMap<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            merged.putAll(headers);
+            merged.remove(name);
+            merged.put(name, values);
+            value = Collections.unmodifiableSet(merged.entrySet());
+            entries = value;
+        }
+        return value;
+    }
+}
@@ -44,7 +44,12 @@ public final class Headers implements Serializable {
 
     private static final long serialVersionUID = 3845207335727836025L;
 
-    private final NavigableMap<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final NavigableMap<String, List<String>> data;
+    private final transient Map<String, List<String>> view;
+
+    private transient volatile List<Link> links;
+    private transient volatile WwwAuthenticate wwwAuthenticate;
+    private transient volatile WacAllow wacAllow;
 
     /**
      * Get the first value of a header, if it exists.
@@ -53,7 +58,7 @@ public final class Headers implements Serializable {
      * @return the first value, if present
      */
     public Optional<String> firstValue(final String name) {
-        final List<String> values = data.get(Objects.requireNonNull(name));
+        final List<String> values = values().get(Objects.requireNonNull(name));
         if (values != null && !values.isEmpty()) {
             return Optional.of(values.get(0));
         }
@@ -67,7 +72,7 @@ public final class Headers implements Serializable {
      * @return the values for the header. If no values are present, an empty list will be returned
      */
     public List<String> allValues(final String name) {
-        final List<String> values = data.get(Objects.requireNonNull(name));
+        final List<String> values = values().get(Objects.requireNonNull(name));
         if (values != null) {
             return Collections.unmodifiableList(values);
         }
@@ -80,7 +85,58 @@ public final class Headers implements Serializable {
      * @return the header values
      */
     public Map<String, List<String>> asMap() {
-        return Collections.unmodifiableNavigableMap(data);
+        if (data != null) {
+            return Collections.unmodifiableNavigableMap(data);
+        }
+        return Collections.unmodifiableMap(view);
+    }
+
+    /**
+     * Get the parsed values of the Link headers.
+     *
+     * <p>The headers are parsed on first use and the result is retained for subsequent calls.
+     *
+     * @return the links. If no Link headers are present, an empty list will be returned
+     */
+    public List<Link> links() {
+        List<Link> value = links;
+        if (value == null) {
+            value = Collections.unmodifiableList(Link.parse(headerValues("Link")));
+            links = value;
+        }
+        return value;
+    }
+
+    /**
+     * Get the parsed values of the WWW-Authenticate headers.
+     *
+     * <p>The headers are parsed on first use and the result is retained for subsequent calls.
+     *
+     * @return the authentication challenges
+     */
+    public WwwAuthenticate wwwAuthenticate() {
+        WwwAuthenticate value = wwwAuthenticate;
+        if (value == null) {
+            value = WwwAuthenticate.parse(headerValues("WWW-Authenticate"));
+            wwwAuthenticate = value;
+        }
+        return value;
+    }
+
+    /**
+     * Get the parsed values of the WAC-Allow headers.
+     *
+     * <p>The headers are parsed on first use and the result is retained for subsequent calls.
+     *
+     * @return the access parameters
+     */
+    public WacAllow wacAllow() {
+        WacAllow value = wacAllow;
+        if (value == null) {
+            value = WacAllow.parse(headerValues("WAC-Allow"));
+            wacAllow = value;
+        }
+        return value;
     }
 
     /**
@@ -102,10 +158,53 @@ public final class Headers implements Serializable {
         return new Headers(new HashMap<>());
     }
 
+    /**
+     * Create a headers object that is a view of an existing Java Map, without copying its values.
+     *
+     * <p>This is intended for adapting the header types of HTTP client libraries. Lookups in the map
+     * must be case-insensitive, and the map must not change while the headers object is in use.
+     *
+     * @param headers the headers represented as a Map
+     * @return the new Headers object
+     */
+    public static Headers wrap(final Map<String, List<String>> headers) {
+        return new Headers(null, Objects.requireNonNull(headers));
+    }
+
+    /**
+     * Create a headers object in which a single header has new values, without copying the other headers.
+     *
+     * @param name the header name
+     * @param values the header values, replacing any existing values
+     * @return the new Headers object
+     */
+    Headers with(final String name, final List<String> values) {
+        return new Headers(null, new HeaderOverlay(values(), name, values));
+    }
+
     private Headers(final Map<String, List<String>> headers) {
+        this(new TreeMap<>(String.CASE_INSENSITIVE_ORDER), null);
         this.data.putAll(headers);
     }
 
+    private Headers(final NavigableMap<String, List<String>> data, final Map<String, List<String>> view) {
+        this.data = data;
+        this.view = view;
+    }
+
+    private Map<String, List<String>> values() {
+        return data != null ? data : view;
+    }
+
+    private Object writeReplace() {
+        // Views are serialized as a copy of their current values
+        return data != null ? this : new Headers(view);
+    }
+
+    private String[] headerValues(final String name) {
+        return allValues(name).toArray(new String[0]);
+    }
+
     /**
      * A class for representing an HTTP Link header.
      *
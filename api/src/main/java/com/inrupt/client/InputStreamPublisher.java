@@ -0,0 +1,126 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Request.BodyPublisher} that streams data from an {@link InputStream}.
+ *
+ * <p>When created from a single stream, this publisher can be consumed only once, unless the stream holds
+ * no more than {@value #REPLAY_LIMIT} bytes, in which case the data is retained once it has been read. When
+ * created from a stream supplier, each call to {@link #getInputStream()} will produce a fresh stream.
+ */
+class InputStreamPublisher implements Request.BodyPublisher {
+    static final int REPLAY_LIMIT = 1024 * 1024;
+
+    private final Supplier<? extends InputStream> supplier;
+    private final long length;
+    private final boolean repeatable;
+    private boolean consumed;
+    private ByteBuffer buffer;
+
+    public InputStreamPublisher(final InputStream stream, final long length) {
+        Objects.requireNonNull(stream, "Input stream may not be null!");
+        this.supplier = () -> stream;
+        this.length = length;
+        this.repeatable = false;
+    }
+
+    public InputStreamPublisher(final Supplier<? extends InputStream> supplier, final long length) {
+        this.supplier = Objects.requireNonNull(supplier, "Input stream supplier may not be null!");
+        this.length = length;
+        this.repeatable = true;
+    }
+
+    @Override
+    public synchronized ByteBuffer getBytes() {
+        if (buffer != null) {
+            return buffer;
+        }
+        try (final InputStream stream = getInputStream()) {
+            final ByteBuffer bytes = ByteBuffer.wrap(stream.readAllBytes());
+            if (!repeatable) {
+                buffer = bytes;
+            }
+            return bytes;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error reading request body", ex);
+        }
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() {
+        if (buffer != null) {
+            return new ByteArrayInputStream(buffer.array());
+        }
+        if (repeatable) {
+            return supplier.get();
+        }
+        if (consumed) {
+            throw new IllegalStateException("Request body stream has already been consumed");
+        }
+        consumed = true;
+        final InputStream stream = supplier.get();
+        if (length > REPLAY_LIMIT) {
+            return stream;
+        }
+
+        // Retain a small body, so that the request can be sent again, e.g. after an authentication challenge
+        final byte[] prefix;
+        try {
+            prefix = stream.readNBytes(REPLAY_LIMIT + 1);
+            if (prefix.length <= REPLAY_LIMIT) {
+                stream.close();
+                buffer = ByteBuffer.wrap(prefix);
+                return new ByteArrayInputStream(prefix);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error reading request body", ex);
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(prefix), stream);
+    }
+
+    @Override
+    public long contentLength() {
+        if (buffer != null) {
+            return buffer.capacity();
+        }
+        return length;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isRepeatable() {
+        return repeatable || buffer != null;
+    }
+}
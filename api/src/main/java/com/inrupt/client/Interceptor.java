@@ -0,0 +1,91 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import com.inrupt.client.auth.Session;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An interceptor for the HTTP requests sent by a {@link Client}.
+ *
+ * <p>Interceptors are applied in the order in which they were added to the client builder, and each one
+ * wraps the interceptors added after it. An interceptor may modify the request before passing it along the
+ * chain, act on the response once it is available or return a response of its own without proceeding.
+ * Since the chain is asynchronous, an interceptor should not block while waiting for a response.
+ *
+ * <p>Interceptors see each request as it was sent by the application and the final response, after any
+ * authorization challenges have been handled by the client.
+ */
+public interface Interceptor {
+
+    /**
+     * Intercept an HTTP request.
+     *
+     * @param request the request
+     * @param chain the remainder of the interceptor chain
+     * @param <T> the response body type
+     * @return the next stage of completion, containing the response
+     */
+    <T> CompletionStage<Response<T>> intercept(Request request, Chain<T> chain);
+
+    /**
+     * The remainder of an interceptor chain.
+     *
+     * @param <T> the response body type
+     */
+    interface Chain<T> {
+
+        /**
+         * Get the response body handler for the request.
+         *
+         * @return the response body handler
+         */
+        Response.BodyHandler<T> bodyHandler();
+
+        /**
+         * Get the session on whose behalf the request is sent.
+         *
+         * @return the session, if known to the chain
+         */
+        default Optional<Session> session() {
+            return Optional.empty();
+        }
+
+        /**
+         * Pass a request to the next interceptor in the chain.
+         *
+         * @param request the request
+         * @return the next stage of completion, containing the response
+         */
+        CompletionStage<Response<T>> proceed(Request request);
+
+        /**
+         * Pass a request to the next interceptor in the chain, using a different response body handler.
+         *
+         * @param request the request
+         * @param bodyHandler the response body handler
+         * @return the next stage of completion, containing the response
+         */
+        CompletionStage<Response<T>> proceed(Request request, Response.BodyHandler<T> bodyHandler);
+    }
+}
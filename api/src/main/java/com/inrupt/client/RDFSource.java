@@ -22,6 +22,7 @@ package com.inrupt.client;
 
 import com.inrupt.client.spi.RDFFactory;
 import com.inrupt.client.spi.ServiceProvider;
+import com.inrupt.client.util.IOUtils;
 import com.inrupt.rdf.wrapping.commons.WrapperDataset;
 
 import java.io.ByteArrayInputStream;
@@ -29,8 +30,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.RDF;
@@ -130,6 +133,26 @@ public class RDFSource extends WrapperDataset implements Resource {
         }
     }
 
+    /**
+     * Retrieve the resource entity as a stream, which is serialized by a given executor as it is read.
+     *
+     * <p>Unlike {@link #getEntity()}, the entity is not held in memory. The returned stream must be read
+     * or closed, otherwise the serialization task remains blocked. Clients use this method only for resources
+     * that do not override {@link #getEntity()}.
+     *
+     * @param executor the executor that serializes the entity
+     * @return the entity stream
+     */
+    public InputStream getEntityStream(final Executor executor) {
+        return IOUtils.pipe(out -> {
+            try {
+                serialize(syntax, out);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to serialize RDFSource entity", ex);
+            }
+        }, executor);
+    }
+
     /**
      * Serialize this object with a defined RDF syntax.
      *
@@ -22,21 +22,24 @@ package com.inrupt.client;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
-
-import org.apache.commons.io.IOUtils;
+import java.util.function.Supplier;
 
 /**
  * An HTTP Request.
@@ -96,6 +99,23 @@ public final class Request {
         return Optional.ofNullable(requestTimeout);
     }
 
+    /**
+     * Create a copy of this request with a single header set to a new value.
+     *
+     * <p>Any existing values for the header are replaced. The other properties of this request, including
+     * the remaining headers, are shared with the new request rather than copied.
+     *
+     * @param name the header name
+     * @param value the header value
+     * @return the new request
+     */
+    public Request withHeader(final String name, final String value) {
+        Objects.requireNonNull(name, "Header name may not be null!");
+        Objects.requireNonNull(value, "Header value may not be null!");
+        return new Request(requestUri, requestMethod, requestHeaders.with(name, Collections.singletonList(value)),
+                publisher, requestTimeout);
+    }
+
     /**
      * Creates a {@link Request} builder.
      *
@@ -124,6 +144,15 @@ public final class Request {
         this.publisher = publisher;
     }
 
+    private Request(final URI uri, final String method, final Headers headers, final BodyPublisher publisher,
+            final Duration timeout) {
+        this.requestUri = uri;
+        this.requestMethod = method;
+        this.requestHeaders = headers;
+        this.publisher = publisher;
+        this.requestTimeout = timeout;
+    }
+
     /**
      * An API for serializing an HTTP Request.
      */
@@ -139,9 +168,57 @@ public final class Request {
         /**
          * Get the length of the HTTP Request.
          *
-         * @return the request length
+         * @return the request length, or a negative value if the length is unknown
          */
         long contentLength();
+
+        /**
+         * Get the serialized HTTP Request body as a stream.
+         *
+         * <p>For streaming publishers, data is read lazily from the underlying source, which makes
+         * it possible to send large request bodies without buffering them in memory.
+         *
+         * @return the request body stream
+         */
+        default InputStream getInputStream() {
+            return new ByteArrayInputStream(getBytes().array());
+        }
+
+        /**
+         * Indicate whether this publisher streams its data rather than holding it in memory.
+         *
+         * <p>An {@link com.inrupt.client.spi.HttpService} should use {@link #getInputStream()} for
+         * streaming publishers and send the data with a streamed or chunked transfer.
+         *
+         * @return true if the request body is streamed
+         */
+        default boolean isStreaming() {
+            return false;
+        }
+
+        /**
+         * Indicate whether the request body can be produced more than once.
+         *
+         * <p>A non-repeatable request body can be sent only once, which means that a request cannot be
+         * retried once the body has been transmitted.
+         *
+         * @return true if the request body may be read more than once
+         */
+        default boolean isRepeatable() {
+            return true;
+        }
+
+        /**
+         * Get the file that holds the request body, if any.
+         *
+         * <p>An {@link com.inrupt.client.spi.HttpService} may use this to send the body with the file transfer
+         * of its HTTP library rather than through {@link #getInputStream()}.
+         *
+         * @return the file containing the request body, if present
+         */
+        default Optional<Path> getFile() {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -172,14 +249,61 @@ public final class Request {
         /**
          * Create an InputStream-based {@link BodyPublisher}.
          *
+         * <p>The request body will be streamed, without a declared length. A body of up to 1 MiB is retained once
+         * it has been sent, so that the request can be repeated; a larger body can be sent only once.
+         *
          * @param body the request body
          * @return the publisher
          */
         public static BodyPublisher ofInputStream(final InputStream body) {
+            return ofInputStream(body, -1);
+        }
+
+        /**
+         * Create an InputStream-based {@link BodyPublisher} with a declared length.
+         *
+         * <p>The request body will be streamed. A body of up to 1 MiB is retained once it has been sent, so that
+         * the request can be repeated; a larger body can be sent only once.
+         *
+         * @param body the request body
+         * @param contentLength the length of the request body, or a negative value if the length is unknown
+         * @return the publisher
+         */
+        public static BodyPublisher ofInputStream(final InputStream body, final long contentLength) {
+            return new InputStreamPublisher(body, contentLength);
+        }
+
+        /**
+         * Create a {@link BodyPublisher} that streams data from a supplier of input streams.
+         *
+         * <p>The supplier is called each time the request body is sent, so such a request can be
+         * retried, for instance after negotiating an authentication challenge.
+         *
+         * @param supplier a supplier of request body streams
+         * @param contentLength the length of the request body, or a negative value if the length is unknown
+         * @return the publisher
+         */
+        public static BodyPublisher ofInputStream(final Supplier<? extends InputStream> supplier,
+                final long contentLength) {
+            return new InputStreamPublisher(supplier, contentLength);
+        }
+
+        /**
+         * Create a file-based {@link BodyPublisher}.
+         *
+         * <p>The file contents will be sent with a declared length, without being buffered in memory.
+         * The bundled HTTP services hand the file to their HTTP library's file publisher; other services
+         * read it as a stream. The file is reopened each time the request body is sent.
+         *
+         * @param path the file containing the request body
+         * @return the publisher
+         */
+        public static BodyPublisher ofFile(final Path path) {
+            Objects.requireNonNull(path, "File path may not be null!");
             try {
-                return new ByteBufferPublisher(IOUtils.toByteArray(body));
+                return new FilePublisher(path, Files.size(path));
             } catch (final IOException ex) {
-                throw new UncheckedIOException("Error reading request body", ex);
+                throw new UncheckedIOException("Error reading request body from file", ex);
             }
         }
 
@@ -23,9 +23,17 @@ package com.inrupt.client;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
 
 /**
  * An HTTP Response.
@@ -90,9 +98,27 @@ public interface Response<T> {
 
         /**
          * Retrieve the response body as a byte buffer.
+         *
+         * <p>For streaming implementations, calling this method will read the entire response
+         * body into memory.
+         *
          * @return the body
          */
         ByteBuffer body();
+
+        /**
+         * Retrieve the response body as an input stream.
+         *
+         * <p>Streaming implementations will return the underlying network stream without
+         * buffering the response body in memory. In this case, the caller takes ownership of the
+         * stream and is responsible for closing it. The response body may be consumed only once,
+         * either via this method or via {@link #body()}.
+         *
+         * @return the body
+         */
+        default InputStream bodyAsStream() {
+            return new ByteArrayInputStream(body().array());
+        }
     }
 
     /**
@@ -116,6 +142,8 @@ public interface Response<T> {
      */
     final class BodyHandlers {
 
+        private static final long TRANSFER_SIZE = 1024L * 1024L;
+
         /**
          * Creates a {@code byte[]} response handler.
          *
@@ -137,10 +165,42 @@ public interface Response<T> {
         /**
          * Creates an {@link InputStream}-based response handler.
          *
+         * <p>When supported by the underlying {@link com.inrupt.client.spi.HttpService}, the response
+         * body will be streamed directly from the network. The caller is responsible for closing
+         * the resulting stream.
+         *
          * @return the body handler
          */
         public static BodyHandler<InputStream> ofInputStream() {
-            return responseInfo -> new ByteArrayInputStream(responseInfo.body().array());
+            return ResponseInfo::bodyAsStream;
+        }
+
+        /**
+         * Creates a file-based response handler.
+         *
+         * <p>The response body stream is copied to the given file, which is created or truncated as
+         * necessary, in bounded chunks, so that the body is never held in memory as a whole.
+         *
+         * @param path the destination file
+         * @return the body handler
+         */
+        public static BodyHandler<Path> ofFile(final Path path) {
+            Objects.requireNonNull(path, "File path may not be null!");
+            return responseInfo -> {
+                try (final ReadableByteChannel source = Channels.newChannel(responseInfo.bodyAsStream());
+                        final FileChannel sink = FileChannel.open(path, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long position = 0;
+                    long count = sink.transferFrom(source, position, TRANSFER_SIZE);
+                    while (count > 0) {
+                        position += count;
+                        count = sink.transferFrom(source, position, TRANSFER_SIZE);
+                    }
+                    return path;
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException("Error writing response body to file", ex);
+                }
+            };
         }
 
         /**
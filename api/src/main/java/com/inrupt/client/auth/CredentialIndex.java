@@ -0,0 +1,169 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.auth;
+
+import com.inrupt.client.ClientCache;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An index of access tokens, organized by resource hierarchy.
+ *
+ * <p>An access token negotiated for one resource is generally accepted for the other resources in the
+ * same container. This index records a credential under the container of the resource for which it
+ * was issued, and looks up a credential for a new resource by walking up that resource's ancestor
+ * containers. The result is a likely-valid credential that can be used before any authentication
+ * challenge is received; a client should fall back to regular negotiation if the server rejects it.
+ */
+public final class CredentialIndex {
+
+    private static final String ROOT = "/";
+
+    private final Supplier<ClientCache<URI, Credential>> factory;
+    private volatile ClientCache<URI, Credential> cache;
+
+    /**
+     * Create a credential index.
+     *
+     * @param cache the cache used to hold credentials, keyed by container
+     */
+    public CredentialIndex(final ClientCache<URI, Credential> cache) {
+        this.cache = Objects.requireNonNull(cache, "Cache may not be null!");
+        this.factory = () -> cache;
+    }
+
+    /**
+     * Create a credential index with a cache that is built when the first credential is recorded.
+     *
+     * @param factory the supplier of the cache used to hold credentials, keyed by container
+     */
+    public CredentialIndex(final Supplier<ClientCache<URI, Credential>> factory) {
+        this.factory = Objects.requireNonNull(factory, "Cache factory may not be null!");
+    }
+
+    /**
+     * Record a credential that was issued for a resource.
+     *
+     * @param resource the resource URI
+     * @param credential the credential
+     */
+    public void put(final URI resource, final Credential credential) {
+        if (isHierarchical(resource)) {
+            getOrCreateCache().put(container(resource.normalize()), credential);
+        }
+    }
+
+    /**
+     * Find a non-expired credential for a resource in the nearest ancestor container.
+     *
+     * <p>Resources identified with a query component are never matched, since the query may
+     * alter the authorization requirements of the target resource.
+     *
+     * @param resource the resource URI
+     * @return a credential, if present
+     */
+    public Optional<Credential> get(final URI resource) {
+        return find(resource, credential -> credential.getExpiration().isAfter(Instant.now()))
+            .map(Map.Entry::getValue);
+    }
+
+    /**
+     * Remove a credential that was rejected for a resource.
+     *
+     * <p>The credential is removed from the nearest ancestor container that holds it.
+     *
+     * @param resource the resource URI
+     * @param credential the rejected credential
+     */
+    public void invalidate(final URI resource, final Credential credential) {
+        find(resource, credential::equals).ifPresent(entry -> cache.invalidate(entry.getKey()));
+    }
+
+    /**
+     * Remove all credentials from the index.
+     */
+    public void invalidateAll() {
+        final ClientCache<URI, Credential> current = cache;
+        if (current != null) {
+            current.invalidateAll();
+        }
+    }
+
+    Optional<Map.Entry<URI, Credential>> find(final URI resource, final Predicate<Credential> predicate) {
+        final ClientCache<URI, Credential> current = cache;
+        if (current == null || !isHierarchical(resource) || resource.getRawQuery() != null) {
+            return Optional.empty();
+        }
+
+        final URI container = container(resource.normalize());
+        String path = container.getRawPath();
+        while (true) {
+            final URI key = withPath(container, path);
+            final Credential credential = current.get(key);
+            if (credential != null && predicate.test(credential)) {
+                return Optional.of(new AbstractMap.SimpleImmutableEntry<>(key, credential));
+            }
+            // Walk the raw path, which shrinks at each step, so that unresolvable dot segments cannot loop
+            final int parent = path.lastIndexOf('/', path.length() - 2);
+            if (parent < 0) {
+                return Optional.empty();
+            }
+            path = path.substring(0, parent + 1);
+        }
+    }
+
+    ClientCache<URI, Credential> getOrCreateCache() {
+        ClientCache<URI, Credential> current = cache;
+        if (current == null) {
+            synchronized (this) {
+                current = cache;
+                if (current == null) {
+                    current = Objects.requireNonNull(factory.get(), "Cache may not be null!");
+                    cache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static boolean isHierarchical(final URI resource) {
+        return !resource.isOpaque() && resource.getRawAuthority() != null;
+    }
+
+    static URI container(final URI resource) {
+        final String path = resource.getRawPath();
+        if (path == null || path.isEmpty()) {
+            return withPath(resource, ROOT);
+        }
+        return withPath(resource, path.substring(0, path.lastIndexOf('/') + 1));
+    }
+
+    static URI withPath(final URI resource, final String path) {
+        return URI.create(resource.getScheme() + "://" + resource.getRawAuthority() + path);
+    }
+}
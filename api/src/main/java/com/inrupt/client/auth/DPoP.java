@@ -46,6 +46,20 @@ public interface DPoP {
      */
     String generateProof(String algorithm, URI uri, String method);
 
+    /**
+     * Record a server-provided nonce to be included in subsequent proofs.
+     *
+     * <p>Servers may require a {@code nonce} claim in DPoP proofs, supplying its value via the {@code DPoP-Nonce}
+     * response header. Nonces are tracked per origin, and the latest nonce for the origin of a proof's HTTP URI
+     * is included in that proof. The default implementation ignores any nonce values.
+     *
+     * @param uri the HTTP URI from which the nonce was received
+     * @param nonce the nonce value
+     */
+    default void updateNonce(final URI uri, final String nonce) {
+        // Nonce values are not tracked by default
+    }
+
     /**
      * Return a collection of the supported algorithm names.
      *
@@ -78,6 +92,20 @@ public interface DPoP {
         return of(Collections.emptyMap());
     }
 
+    /**
+     * Get a process-wide DPoP manager that supports a default keypair.
+     *
+     * <p>The keypair is generated once and shared by all callers, which avoids the cost of key generation
+     * when many sessions are created. Any tokens bound to this keypair can be proven by any of those sessions.
+     * This is a single keypair rather than a pool of keypairs, so sessions that must not share proof keys should
+     * use their own DPoP manager.
+     *
+     * @return the shared DPoP manager
+     */
+    static DPoP shared() {
+        return SharedDPoP.INSTANCE;
+    }
+
     /**
      * Create a DPoP manager that supports some number of keypairs.
      *
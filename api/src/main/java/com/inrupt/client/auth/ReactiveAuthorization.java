@@ -24,11 +24,14 @@ import com.inrupt.client.Request;
 import com.inrupt.client.spi.AuthenticationProvider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
@@ -37,6 +40,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +62,8 @@ public class ReactiveAuthorization {
         .comparing(Authenticator::getPriority)
         .reversed();
 
-    private final Map<String, AuthenticationProvider> registry = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, AuthenticationProvider> registry;
+    private final Map<List<Object>, CompletableFuture<Optional<Credential>>> negotiations = new ConcurrentHashMap<>();
 
 
     /**
@@ -66,8 +71,12 @@ public class ReactiveAuthorization {
      * via the {@link ServiceLoader}.
      *
      * <p>Known weak authorization mechanisms such as {@code Basic} and {@code Digest} are explicitly omitted.
+     *
+     * <p>The resulting provider registry is immutable, and a single instance may be shared among any number
+     * of clients and sessions.
      */
     public ReactiveAuthorization() {
+        final Map<String, AuthenticationProvider> providers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         final ServiceLoader<AuthenticationProvider> loader = ServiceLoader.load(AuthenticationProvider.class,
                 ReactiveAuthorization.class.getClassLoader());
 
@@ -77,13 +86,14 @@ public class ReactiveAuthorization {
                 if (!prohibited.contains(scheme)) {
                     LOGGER.debug("Registering {} scheme via {} authentication provider", scheme,
                             provider.getClass().getSimpleName());
-                    registry.put(scheme, provider);
+                    providers.put(scheme, provider);
                 } else {
                     LOGGER.debug("Omitting {} scheme via {} authentication provider", scheme,
                             provider.getClass().getSimpleName());
                 }
             }
         }
+        this.registry = Collections.unmodifiableMap(providers);
     }
 
     /**
@@ -97,6 +107,7 @@ public class ReactiveAuthorization {
     public CompletionStage<Optional<Credential>> negotiate(final Session session, final Request request,
             final Collection<Challenge> challenges) {
         final List<Authenticator> authenticators = new ArrayList<>();
+        final Map<Authenticator, Challenge> selected = new IdentityHashMap<>();
         final Set<String> algorithms = new HashSet<>();
         for (final Challenge challenge : challenges) {
             if (challenge.getParameter("algs") != null) {
@@ -104,27 +115,65 @@ public class ReactiveAuthorization {
             }
             final String scheme = challenge.getScheme();
             if (registry.containsKey(scheme) && sessionSupportsScheme(session, scheme)) {
-                authenticators.add(registry.get(scheme).getAuthenticator(challenge));
+                final Authenticator auth = registry.get(scheme).getAuthenticator(challenge);
+                authenticators.add(auth);
+                selected.put(auth, challenge);
             }
         }
 
         if (authenticators.isEmpty()) {
             // Fallback in case of missing or poorly formed www-authenticate header
             if (registry.containsKey(BEARER)) {
-                final Authenticator auth = registry.get(BEARER).getAuthenticator(Challenge.of(BEARER));
+                final Challenge challenge = Challenge.of(BEARER);
+                final Authenticator auth = registry.get(BEARER).getAuthenticator(challenge);
                 LOGGER.debug("Using fallback Bearer authenticator");
-                return session.authenticate(auth, request, algorithms);
+                return authenticate(session, request, challenge, auth, algorithms);
             }
         } else {
             // Use the first authenticator, sorted by priority
             authenticators.sort(comparator);
             final Authenticator auth = authenticators.get(0);
             LOGGER.debug("Using {} authenticator", auth);
-            return session.authenticate(auth, request, algorithms);
+            return authenticate(session, request, selected.get(auth), auth, algorithms);
         }
         return CompletableFuture.completedFuture(Optional.empty());
     }
 
+    /**
+     * Perform an authentication flow, coalescing concurrent negotiations for the same resource.
+     *
+     * <p>While a negotiation is in flight for a given session, challenge scheme, authorization server
+     * and resource, any subsequent negotiation with the same parameters will await the result of the
+     * first one rather than starting a new authentication flow.
+     */
+    CompletionStage<Optional<Credential>> authenticate(final Session session, final Request request,
+            final Challenge challenge, final Authenticator authenticator, final Set<String> algorithms) {
+        final List<Object> key = Arrays.asList(session.getId(), challenge.getScheme().toLowerCase(Locale.ENGLISH),
+                getAuthorizationServer(challenge), request.method(), request.uri());
+        final CompletableFuture<Optional<Credential>> future = new CompletableFuture<>();
+        final CompletableFuture<Optional<Credential>> existing = negotiations.putIfAbsent(key, future);
+        if (existing != null) {
+            LOGGER.debug("Awaiting in-flight {} negotiation for {}", challenge.getScheme(), request.uri());
+            return existing.copy();
+        }
+
+        try {
+            session.authenticate(authenticator, request, algorithms).whenComplete((credential, err) -> {
+                // Remove the entry before completion so that later challenges trigger a new negotiation
+                negotiations.remove(key, future);
+                if (err != null) {
+                    future.completeExceptionally(err);
+                } else {
+                    future.complete(credential);
+                }
+            });
+        } catch (final RuntimeException ex) {
+            negotiations.remove(key, future);
+            future.completeExceptionally(ex);
+        }
+        return future.copy();
+    }
+
     static boolean sessionSupportsScheme(final Session session, final String scheme) {
         // special case for UMA, since anonymous sessions are possible with UMA
         if ("UMA".equalsIgnoreCase(scheme)) {
@@ -133,6 +182,14 @@ public class ReactiveAuthorization {
         return session.supportedSchemes().contains(scheme);
     }
 
+    static String getAuthorizationServer(final Challenge challenge) {
+        final String asUri = challenge.getParameter("as_uri");
+        if (asUri != null) {
+            return asUri;
+        }
+        return challenge.getParameter("realm");
+    }
+
     static Set<String> getProhibitedSchemes() {
         final Set<String> prohibited = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
         prohibited.add("Basic");
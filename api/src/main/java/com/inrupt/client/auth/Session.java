@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -67,6 +68,17 @@ public interface Session {
      */
     Optional<Credential> getCredential(URI name, URI uri);
 
+    /**
+     * Retrieve a credential from this session, without blocking the caller.
+     *
+     * @param name the credential name
+     * @param uri the request URI
+     * @return the next stage of completion, possibly containing the credential
+     */
+    default CompletionStage<Optional<Credential>> getCredentialAsync(final URI name, final URI uri) {
+        return CompletableFuture.completedFuture(getCredential(name, uri));
+    }
+
     /**
      * Retrieve an access token for a request from a cache.
      *
@@ -84,6 +96,26 @@ public interface Session {
      */
     Optional<String> generateProof(String jkt, Request request);
 
+    /**
+     * Record a server-provided DPoP nonce to be included in subsequent proofs.
+     *
+     * @param uri the HTTP URI from which the nonce was received
+     * @param nonce the nonce value
+     */
+    default void updateNonce(final URI uri, final String nonce) {
+        // Nonce values are not tracked by default
+    }
+
+    /**
+     * Remove a cached access token that a server rejected for a request.
+     *
+     * @param request the HTTP request
+     * @param credential the rejected access token
+     */
+    default void invalidate(final Request request, final Credential credential) {
+        // Access tokens are not cached by default
+    }
+
     /**
      * Select the thumbprint from a set of candidate algorithms.
      *
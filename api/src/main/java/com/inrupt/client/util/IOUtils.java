@@ -30,7 +30,11 @@ import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.io.UncheckedIOException;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -41,18 +45,43 @@ public final class IOUtils {
     /**
      * Pipe an output stream to a consumable input stream.
      *
+     * <p>If the function fails, the consumer of the input stream will receive an {@link IOException}
+     * rather than a truncated stream.
+     *
+     * <p>The function runs on the {@linkplain #blockingExecutor() blocking executor}.
+     *
      * @param function the output stream
      * @return a consumable input stream
      */
     public static InputStream pipe(final Consumer<OutputStream> function) {
+        return pipe(function, blockingExecutor());
+    }
 
+    /**
+     * Pipe an output stream to a consumable input stream, writing the output with a given executor.
+     *
+     * <p>The function blocks until its output has been read, so the executor should not be one on which the
+     * reader depends, such as a bounded pool that also runs the code that consumes the input stream.
+     *
+     * @param function the output stream
+     * @param executor the executor that runs the function
+     * @return a consumable input stream
+     */
+    public static InputStream pipe(final Consumer<OutputStream> function, final Executor executor) {
+        Objects.requireNonNull(executor, "Executor may not be null!");
         try {
-            final PipedInputStream sink = new PipedInputStream();
+            final FailablePipedInputStream sink = new FailablePipedInputStream();
             final OutputStream source = new PipedOutputStream(sink);
 
             CompletableFuture
-                .runAsync(() -> function.accept(source))
-                .whenComplete((x, err) -> closeUnchecked(source));
+                .runAsync(() -> function.accept(source), executor)
+                .whenComplete((x, err) -> {
+                    if (err != null) {
+                        // Signal the failure to the reader
+                        sink.fail(err);
+                    }
+                    closeUnchecked(source);
+                });
 
             return sink;
         } catch (final IOException ex) {
@@ -78,21 +107,52 @@ public final class IOUtils {
     /**
      * Stream a request body directly from a consuming function.
      *
+     * <p>The function is invoked each time the request body is sent, and the data is transferred
+     * without being buffered in memory.
+     *
      * @param function the consuming function
      * @return the request publisher
      */
     public static Request.BodyPublisher stream(final Consumer<OutputStream> function) {
-        try {
-            final PipedInputStream sink = new PipedInputStream();
-            final OutputStream source = new PipedOutputStream(sink);
+        return stream(function, blockingExecutor());
+    }
 
-            CompletableFuture
-                .runAsync(() -> function.accept(source))
-                .whenComplete((x, err) -> closeUnchecked(source));
+    /**
+     * Stream a request body directly from a consuming function, writing the data with a given executor.
+     *
+     * @param function the consuming function
+     * @param executor the executor that runs the function
+     * @return the request publisher
+     */
+    public static Request.BodyPublisher stream(final Consumer<OutputStream> function, final Executor executor) {
+        Objects.requireNonNull(executor, "Executor may not be null!");
+        return Request.BodyPublishers.ofInputStream(() -> pipe(function, executor), -1);
+    }
 
-            return Request.BodyPublishers.ofInputStream(sink);
-        } catch (final IOException ex) {
-            throw new UncheckedIOException("Error piping data across threads", ex);
+    /**
+     * Get the default executor for blocking I/O tasks.
+     *
+     * <p>On Java 21 and later, this executor starts a new virtual thread for each task. On earlier versions, it
+     * uses a pool of daemon threads that grows with demand. In both cases, blocked tasks do not occupy the
+     * common fork-join pool.
+     *
+     * @return the executor
+     */
+    public static Executor blockingExecutor() {
+        return ExecutorHolder.INSTANCE;
+    }
+
+    static Executor createBlockingExecutor() {
+        try {
+            // Virtual threads are available from Java 21
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                final Thread thread = new Thread(task, "inrupt-io-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
         }
     }
 
@@ -111,6 +171,45 @@ public final class IOUtils {
         }
     }
 
+    /**
+     * A piped input stream that reports a failure of the writing side at the end of the stream.
+     */
+    static final class FailablePipedInputStream extends PipedInputStream {
+        private volatile Throwable failure;
+
+        void fail(final Throwable err) {
+            this.failure = err;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkFailure(super.read());
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return checkFailure(super.read(b, off, len));
+        }
+
+        int checkFailure(final int value) throws IOException {
+            if (value < 0 && failure != null) {
+                throw new IOException("Error writing data across threads", failure);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Lazily create the shared blocking executor.
+     */
+    static final class ExecutorHolder {
+        static final Executor INSTANCE = createBlockingExecutor();
+
+        private ExecutorHolder() {
+            // Prevent instantiation
+        }
+    }
+
     private IOUtils() {
         // Prevent instantiation
     }
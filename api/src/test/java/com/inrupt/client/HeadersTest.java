@@ -0,0 +1,96 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class HeadersTest {
+
+    @Test
+    void testWrap() {
+        final Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        map.put("Content-Type", Collections.singletonList("text/turtle"));
+        final Headers headers = Headers.wrap(map);
+
+        assertEquals(Optional.of("text/turtle"), headers.firstValue("content-type"));
+        assertEquals(Collections.singletonList("text/turtle"), headers.allValues("CONTENT-TYPE"));
+        assertTrue(headers.allValues("Link").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> headers.asMap().remove("Content-Type"));
+    }
+
+    @Test
+    void testWithHeader() {
+        final Request request = Request.newBuilder(URI.create("https://example.test/resource"))
+            .header("Accept", "text/turtle")
+            .header("Authorization", "Bearer token")
+            .header("Authorization", "Basic credentials")
+            .build();
+        final Request upgraded = request.withHeader("authorization", "DPoP token")
+            .withHeader("DPoP", "proof");
+
+        assertSame(request.uri(), upgraded.uri());
+        assertEquals(request.method(), upgraded.method());
+        assertEquals(request.bodyPublisher(), upgraded.bodyPublisher());
+        assertEquals(Arrays.asList("Bearer token", "Basic credentials"),
+                request.headers().allValues("Authorization"));
+        assertEquals(Collections.singletonList("DPoP token"), upgraded.headers().allValues("Authorization"));
+        assertEquals(Optional.of("proof"), upgraded.headers().firstValue("dpop"));
+        assertEquals(Optional.of("text/turtle"), upgraded.headers().firstValue("Accept"));
+
+        final Map<String, List<String>> map = upgraded.headers().asMap();
+        // Accept, Authorization, DPoP and the default User-Agent
+        assertEquals(4, map.size());
+        assertEquals(Collections.singletonList("DPoP token"), map.get("Authorization"));
+        assertTrue(request.headers().allValues("DPoP").isEmpty());
+    }
+
+    @Test
+    void testSerializeView() throws IOException, ClassNotFoundException {
+        final Headers headers = Request.newBuilder(URI.create("https://example.test/resource"))
+            .header("Accept", "text/turtle").build()
+            .withHeader("Authorization", "Bearer token").headers();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(headers);
+        }
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Headers copy = (Headers) input.readObject();
+            assertEquals(headers.asMap(), copy.asMap());
+            assertEquals(Optional.of("Bearer token"), copy.firstValue("authorization"));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.auth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.ClientCache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class CredentialIndexTest {
+
+    static final URI ISSUER = URI.create("https://issuer.example");
+
+    @Test
+    void testSiblingAndDescendantLookup() {
+        final CredentialIndex index = new CredentialIndex(new MapCache());
+        final Credential credential = new Credential("Bearer", ISSUER, "token",
+                Instant.now().plusSeconds(300), null, null);
+        index.put(URI.create("https://storage.example/data/resource"), credential);
+
+        assertEquals(Optional.of(credential), index.get(URI.create("https://storage.example/data/resource")));
+        assertEquals(Optional.of(credential), index.get(URI.create("https://storage.example/data/sibling")));
+        assertEquals(Optional.of(credential), index.get(URI.create("https://storage.example/data/child/resource")));
+        assertFalse(index.get(URI.create("https://storage.example/other/resource")).isPresent());
+        assertFalse(index.get(URI.create("https://storage.example/")).isPresent());
+        assertFalse(index.get(URI.create("https://other.example/data/resource")).isPresent());
+        assertFalse(index.get(URI.create("https://storage.example/data/resource?q=1")).isPresent());
+    }
+
+    @Test
+    void testNearestAncestor() {
+        final CredentialIndex index = new CredentialIndex(new MapCache());
+        final Credential root = new Credential("Bearer", ISSUER, "root", Instant.now().plusSeconds(300), null, null);
+        final Credential nested = new Credential("Bearer", ISSUER, "nested",
+                Instant.now().plusSeconds(300), null, null);
+        index.put(URI.create("https://storage.example/"), root);
+        index.put(URI.create("https://storage.example/a/b/resource"), nested);
+
+        assertEquals(Optional.of(nested), index.get(URI.create("https://storage.example/a/b/c/d")));
+        assertEquals(Optional.of(root), index.get(URI.create("https://storage.example/a/resource")));
+        assertEquals(Optional.of(root), index.get(URI.create("https://storage.example")));
+    }
+
+    @Test
+    void testDotSegments() {
+        final CredentialIndex index = new CredentialIndex(new MapCache());
+        final Credential root = new Credential("Bearer", ISSUER, "root", Instant.now().plusSeconds(300), null, null);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertFalse(index.get(URI.create("https://storage.example/../a/resource")).isPresent()));
+
+        index.put(URI.create("https://storage.example/"), root);
+        assertEquals(Optional.of(root), assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    index.get(URI.create("https://storage.example/../a/resource"))));
+        assertEquals(Optional.of(root), index.get(URI.create("https://storage.example/a/./b/../resource")));
+    }
+
+    @Test
+    void testExpiredAndInvalidated() {
+        final CredentialIndex index = new CredentialIndex(new MapCache());
+        index.put(URI.create("https://storage.example/data/resource"), new Credential("Bearer", ISSUER, "expired",
+                    Instant.now().minusSeconds(5), null, null));
+        assertFalse(index.get(URI.create("https://storage.example/data/other")).isPresent());
+
+        index.put(URI.create("https://storage.example/data/resource"), new Credential("Bearer", ISSUER, "token",
+                    Instant.now().plusSeconds(300), null, null));
+        assertTrue(index.get(URI.create("https://storage.example/data/other")).isPresent());
+        index.invalidateAll();
+        assertFalse(index.get(URI.create("https://storage.example/data/other")).isPresent());
+        index.put(URI.create("urn:uuid:1234"), new Credential("Bearer", ISSUER, "token",
+                    Instant.now().plusSeconds(300), null, null));
+        assertFalse(index.get(URI.create("urn:uuid:1234")).isPresent());
+    }
+
+    @Test
+    void testInvalidateRejected() {
+        final CredentialIndex index = new CredentialIndex(new MapCache());
+        final Credential root = new Credential("Bearer", ISSUER, "root", Instant.now().plusSeconds(300), null, null);
+        final Credential data = new Credential("Bearer", ISSUER, "data", Instant.now().plusSeconds(300), null, null);
+        index.put(URI.create("https://storage.example/resource"), root);
+        index.put(URI.create("https://storage.example/data/resource"), data);
+
+        final URI other = URI.create("https://storage.example/data/other");
+        index.invalidate(other, new Credential("Bearer", ISSUER, "data", Instant.now().plusSeconds(300), null, null));
+        assertEquals(Optional.of(data), index.get(other));
+        index.invalidate(other, data);
+        assertEquals(Optional.of(root), index.get(other));
+        index.invalidate(other, root);
+        assertFalse(index.get(other).isPresent());
+    }
+
+    @Test
+    void testLazyCache() {
+        final AtomicInteger created = new AtomicInteger();
+        final CredentialIndex index = new CredentialIndex(() -> {
+            created.incrementAndGet();
+            return new MapCache();
+        });
+        final URI resource = URI.create("https://storage.example/data/resource");
+        final Credential credential = new Credential("Bearer", ISSUER, "token",
+                Instant.now().plusSeconds(300), null, null);
+
+        assertFalse(index.get(resource).isPresent());
+        index.invalidate(resource, credential);
+        index.invalidateAll();
+        assertEquals(0, created.get());
+
+        index.put(resource, credential);
+        index.put(URI.create("https://storage.example/data/other"), credential);
+        assertEquals(Optional.of(credential), index.get(resource));
+        assertEquals(1, created.get());
+    }
+
+    static class MapCache implements ClientCache<URI, Credential> {
+        private final Map<URI, Credential> data = new ConcurrentHashMap<>();
+
+        @Override
+        public Credential get(final URI key) {
+            return data.get(key);
+        }
+
+        @Override
+        public void put(final URI key, final Credential value) {
+            data.put(key, value);
+        }
+
+        @Override
+        public void invalidate(final URI key) {
+            data.remove(key);
+        }
+
+        @Override
+        public void invalidateAll() {
+            data.clear();
+        }
+    }
+}
@@ -25,12 +25,15 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.inrupt.client.Request;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -46,6 +49,77 @@ class ReactiveAuthorizationTest {
         assertFalse(credential.isPresent());
     }
 
+    @Test
+    void testCoalescedNegotiation() {
+        final ReactiveAuthorization auth = new ReactiveAuthorization();
+        final Session session = Session.anonymous();
+        final Request req = Request.newBuilder(URI.create("https://storage.example/resource")).build();
+        final Challenge challenge = Challenge.of("UMA",
+                Collections.singletonMap("as_uri", "https://as.example"));
+        final AtomicInteger count = new AtomicInteger();
+        final CompletableFuture<Credential> pending = new CompletableFuture<>();
+        final Authenticator authenticator = new PendingAuthenticator(count, pending);
+
+        final CompletionStage<Optional<Credential>> first = auth.authenticate(session, req, challenge,
+                authenticator, Collections.emptySet());
+        final CompletionStage<Optional<Credential>> second = auth.authenticate(session, req, challenge,
+                authenticator, Collections.emptySet());
+        assertEquals(1, count.get());
+
+        final Credential credential = new Credential("Bearer", URI.create("https://issuer.example"), "token",
+                Instant.now().plusSeconds(300), null, null);
+        pending.complete(credential);
+        assertEquals(Optional.of(credential), first.toCompletableFuture().join());
+        assertEquals(Optional.of(credential), second.toCompletableFuture().join());
+
+        // Once complete, a new challenge results in a new negotiation
+        auth.authenticate(session, req, challenge, authenticator, Collections.emptySet());
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    void testDistinctNegotiations() {
+        final ReactiveAuthorization auth = new ReactiveAuthorization();
+        final Request req = Request.newBuilder(URI.create("https://storage.example/resource")).build();
+        final Challenge challenge = Challenge.of("UMA",
+                Collections.singletonMap("as_uri", "https://as.example"));
+        final AtomicInteger count = new AtomicInteger();
+        final Authenticator authenticator = new PendingAuthenticator(count, new CompletableFuture<>());
+
+        auth.authenticate(Session.anonymous(), req, challenge, authenticator, Collections.emptySet());
+        auth.authenticate(Session.anonymous(), req, challenge, authenticator, Collections.emptySet());
+        auth.authenticate(Session.anonymous(), Request.newBuilder(URI.create("https://storage.example/other"))
+                .build(), challenge, authenticator, Collections.emptySet());
+        assertEquals(3, count.get());
+    }
+
+    static class PendingAuthenticator implements Authenticator {
+        private final AtomicInteger count;
+        private final CompletionStage<Credential> result;
+
+        PendingAuthenticator(final AtomicInteger count, final CompletionStage<Credential> result) {
+            this.count = count;
+            this.result = result;
+        }
+
+        @Override
+        public String getName() {
+            return "Pending";
+        }
+
+        @Override
+        public int getPriority() {
+            return 1;
+        }
+
+        @Override
+        public CompletionStage<Credential> authenticate(final Session session, final Request request,
+                final Set<String> algorithms) {
+            count.incrementAndGet();
+            return result;
+        }
+    }
+
     static class BasicAuthSession implements Session {
 
         @Override
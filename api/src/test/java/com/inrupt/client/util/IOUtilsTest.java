@@ -20,15 +20,27 @@
  */
 package com.inrupt.client.util;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.inrupt.client.Request;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class IOUtilsTest {
 
@@ -80,6 +92,32 @@ class IOUtilsTest {
         }
     }
 
+    @Test
+    void testOutputPipeExecutor() throws IOException {
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final Executor executor = task -> {
+            final Thread thread = new Thread(task);
+            threads.add(thread);
+            thread.start();
+        };
+        try (final InputStream res = IOUtilsTest.class.getResourceAsStream(INPUT_DOC)) {
+            final byte[] data = org.apache.commons.io.IOUtils.toByteArray(res);
+
+            final InputStream sink = IOUtils.pipe(source -> produce(source, data, Speed.FAST), executor);
+
+            consume(sink, data, Speed.FAST);
+            assertEquals(1, threads.size());
+        }
+    }
+
+    @Test
+    void testBlockingExecutor() {
+        final Thread writer = CompletableFuture.supplyAsync(Thread::currentThread, IOUtils.blockingExecutor())
+            .join();
+        assertFalse(writer instanceof ForkJoinWorkerThread);
+        assertSame(IOUtils.blockingExecutor(), IOUtils.blockingExecutor());
+    }
+
     @Test
     void testSyncOutputPipeSlowReader() throws Exception {
         try (final InputStream res = IOUtilsTest.class.getResourceAsStream(INPUT_DOC)) {
@@ -102,6 +140,82 @@ class IOUtilsTest {
         }
     }
 
+    @Test
+    void testPipeFailure() {
+        final InputStream sink = IOUtils.pipe(source -> {
+            throw new UncheckedIOException(new IOException("Serialization failure"));
+        });
+
+        assertThrows(IOException.class, () -> {
+            try (final InputStream stream = sink) {
+                stream.readAllBytes();
+            }
+        });
+    }
+
+    @Test
+    void testStreamRepeatable() throws IOException {
+        try (final InputStream res = IOUtilsTest.class.getResourceAsStream(INPUT_DOC)) {
+            final byte[] data = org.apache.commons.io.IOUtils.toByteArray(res);
+
+            final Request.BodyPublisher publisher = IOUtils.stream(source -> produce(source, data, Speed.FAST));
+
+            assertTrue(publisher.isStreaming());
+            assertTrue(publisher.isRepeatable());
+            assertEquals(-1, publisher.contentLength());
+            try (final InputStream stream = publisher.getInputStream()) {
+                consume(stream, data, Speed.FAST);
+            }
+            try (final InputStream stream = publisher.getInputStream()) {
+                consume(stream, data, Speed.FAST);
+            }
+        }
+    }
+
+    @Test
+    void testInputStreamPublisherOneShot() {
+        final Request.BodyPublisher publisher = Request.BodyPublishers
+            .ofInputStream(new ByteArrayInputStream(new byte[] {1, 2, 3}), 3);
+
+        assertTrue(publisher.isStreaming());
+        assertFalse(publisher.isRepeatable());
+        assertEquals(3, publisher.contentLength());
+        assertNotNull(publisher.getInputStream());
+
+        // A small body is retained once it has been read
+        assertTrue(publisher.isRepeatable());
+        assertArrayEquals(new byte[] {1, 2, 3}, publisher.getBytes().array());
+    }
+
+    @Test
+    void testInputStreamPublisherLargeOneShot() throws IOException {
+        final byte[] data = new byte[2 * 1024 * 1024];
+        final Request.BodyPublisher publisher = Request.BodyPublishers.ofInputStream(new ByteArrayInputStream(data));
+
+        try (final InputStream stream = publisher.getInputStream()) {
+            assertEquals(data.length, stream.readAllBytes().length);
+        }
+        assertFalse(publisher.isRepeatable());
+        assertThrows(IllegalStateException.class, publisher::getInputStream);
+    }
+
+    @Test
+    void testFilePublisher(@TempDir final Path dir) throws IOException {
+        final Path file = Files.write(dir.resolve("body.txt"), "file contents".getBytes(UTF_8));
+        final Request.BodyPublisher publisher = Request.BodyPublishers.ofFile(file);
+
+        assertEquals(Optional.of(file), publisher.getFile());
+        assertEquals(13, publisher.contentLength());
+        assertTrue(publisher.isStreaming());
+        assertTrue(publisher.isRepeatable());
+        for (int i = 0; i < 2; i++) {
+            try (final InputStream stream = publisher.getInputStream()) {
+                assertEquals("file contents", new String(stream.readAllBytes(), UTF_8));
+            }
+        }
+        assertFalse(Request.BodyPublishers.ofString("text").getFile().isPresent());
+    }
+
     void produce(final OutputStream out, final byte[] data, final Speed speed) {
         try {
             for (int i = 0; i < data.length; i++) {
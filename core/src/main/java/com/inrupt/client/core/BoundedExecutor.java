@@ -0,0 +1,141 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An executor with a fixed upper bound on its number of threads, for CPU-bound work such as parsing
+ * response bodies.
+ *
+ * <p>Tasks beyond the thread limit wait in a queue. The queue depth and the time that tasks spend in the
+ * queue can be used to decide whether the thread limit suits the workload. Idle threads are released after a
+ * short time, and the threads never prevent the JVM from exiting.
+ */
+public final class BoundedExecutor implements Executor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final ThreadPoolExecutor pool;
+    private final LongAdder queueTime = new LongAdder();
+
+    private BoundedExecutor(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread limit must be at least one");
+        }
+        final String prefix = "inrupt-compute-" + POOLS.incrementAndGet() + "-";
+        final AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    final Thread thread = new Thread(task, prefix + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create a bounded executor with one thread per available processor.
+     *
+     * @return the executor
+     */
+    public static BoundedExecutor of() {
+        return of(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a bounded executor.
+     *
+     * @param threads the maximum number of threads
+     * @return the executor
+     */
+    public static BoundedExecutor of(final int threads) {
+        return new BoundedExecutor(threads);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final long queued = System.nanoTime();
+        pool.execute(() -> {
+            queueTime.add(System.nanoTime() - queued);
+            task.run();
+        });
+    }
+
+    /**
+     * Get the maximum number of threads.
+     *
+     * @return the thread limit
+     */
+    public int getMaxThreads() {
+        return pool.getMaximumPoolSize();
+    }
+
+    /**
+     * Get the approximate number of tasks waiting for a thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * Get the approximate number of tasks that are running.
+     *
+     * @return the number of active tasks
+     */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Get the approximate number of tasks that have completed.
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return pool.getCompletedTaskCount();
+    }
+
+    /**
+     * Get the total time that started tasks spent waiting in the queue.
+     *
+     * @return the cumulative queue time
+     */
+    public Duration getTotalQueueTime() {
+        return Duration.ofNanos(queueTime.sum());
+    }
+
+    /**
+     * Stop accepting new tasks. Queued tasks still run.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
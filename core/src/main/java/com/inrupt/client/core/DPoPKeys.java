@@ -0,0 +1,162 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Utilities for loading persistent DPoP keypairs.
+ *
+ * <p>Using a persistent keypair avoids generating a new key for each session, and it allows
+ * DPoP-bound tokens to remain usable across process restarts. The resulting map can be passed
+ * to {@link com.inrupt.client.auth.DPoP#of(Map)}.
+ *
+ * <p>The DPoP algorithm for each key is taken from the {@code alg} parameter of a JWK, if present.
+ * Otherwise, it is derived from the key: {@code ES256}, {@code ES384} or {@code ES512} for elliptic
+ * curve keys, according to the curve size, and {@code RS256} for RSA keys.
+ */
+public final class DPoPKeys {
+
+    /**
+     * Load DPoP keypairs from a JSON Web Key (JWK) or JSON Web Key Set (JWKS) file.
+     *
+     * <p>Only keys that include private key material are loaded. At most one key may be provided
+     * for each algorithm.
+     *
+     * @param path the location of the JWK or JWKS file
+     * @return the keypairs, keyed by algorithm
+     */
+    public static Map<String, KeyPair> fromJwk(final Path path) {
+        try {
+            final String json = new String(Files.readAllBytes(path), UTF_8);
+            final List<JsonWebKey> keys;
+            if (JsonUtil.parseJson(json).containsKey(JsonWebKeySet.JWK_SET_MEMBER_NAME)) {
+                keys = new JsonWebKeySet(json).getJsonWebKeys();
+            } else {
+                keys = Collections.singletonList(JsonWebKey.Factory.newJwk(json));
+            }
+
+            final Map<String, KeyPair> keypairs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (final JsonWebKey key : keys) {
+                if (key instanceof PublicJsonWebKey && ((PublicJsonWebKey) key).getPrivateKey() != null) {
+                    final PublicJsonWebKey jwk = (PublicJsonWebKey) key;
+                    final String algorithm = jwk.getAlgorithm() != null ? jwk.getAlgorithm()
+                        : algorithm(jwk.getPublicKey());
+                    addKeyPair(keypairs, algorithm, new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey()));
+                }
+            }
+            return keypairs;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Unable to read DPoP key file", ex);
+        } catch (final JoseException ex) {
+            throw new AuthenticationException("Unable to parse DPoP key file", ex);
+        }
+    }
+
+    /**
+     * Load DPoP keypairs from a PKCS#12 keystore file.
+     *
+     * <p>Each private key entry in the keystore is loaded, using the same password as the keystore.
+     * At most one key may be provided for each algorithm.
+     *
+     * @param path the location of the keystore
+     * @param password the keystore password
+     * @return the keypairs, keyed by algorithm
+     */
+    public static Map<String, KeyPair> fromPkcs12(final Path path, final char[] password) {
+        try (final InputStream input = Files.newInputStream(path)) {
+            final KeyStore keystore = KeyStore.getInstance("PKCS12");
+            keystore.load(input, password);
+
+            final Map<String, KeyPair> keypairs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            final Enumeration<String> aliases = keystore.aliases();
+            while (aliases.hasMoreElements()) {
+                final String alias = aliases.nextElement();
+                final Key key = keystore.getKey(alias, password);
+                final Certificate certificate = keystore.getCertificate(alias);
+                if (key instanceof PrivateKey && certificate != null) {
+                    final PublicKey publicKey = certificate.getPublicKey();
+                    addKeyPair(keypairs, algorithm(publicKey), new KeyPair(publicKey, (PrivateKey) key));
+                }
+            }
+            return keypairs;
+        } catch (final IOException ex) {
+            // An incorrect keystore password is reported as an IOException
+            if (ex.getCause() instanceof GeneralSecurityException) {
+                throw new AuthenticationException("Unable to load DPoP keys from keystore", ex);
+            }
+            throw new UncheckedIOException("Unable to read DPoP keystore", ex);
+        } catch (final GeneralSecurityException ex) {
+            throw new AuthenticationException("Unable to load DPoP keys from keystore", ex);
+        }
+    }
+
+    static void addKeyPair(final Map<String, KeyPair> keypairs, final String algorithm, final KeyPair keypair) {
+        if (keypairs.putIfAbsent(algorithm, keypair) != null) {
+            throw new AuthenticationException("Multiple DPoP keys found for algorithm: " + algorithm);
+        }
+    }
+
+    static String algorithm(final PublicKey key) {
+        if (key instanceof ECKey) {
+            final int size = ((ECKey) key).getParams().getCurve().getField().getFieldSize();
+            if (size <= 256) {
+                return "ES256";
+            } else if (size <= 384) {
+                return "ES384";
+            }
+            return "ES512";
+        } else if (key instanceof RSAKey) {
+            return "RS256";
+        }
+        throw new AuthenticationException("Unsupported DPoP key type: " + key.getAlgorithm());
+    }
+
+    private DPoPKeys() {
+        // Prevent instantiation
+    }
+}
@@ -21,7 +21,8 @@
 package com.inrupt.client.core;
 
 import com.inrupt.client.Client;
-import com.inrupt.client.Headers.WwwAuthenticate;
+import com.inrupt.client.InruptClientException;
+import com.inrupt.client.Interceptor;
 import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.auth.Challenge;
@@ -31,10 +32,15 @@ import com.inrupt.client.auth.Session;
 import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.spi.ServiceProvider;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,108 +53,345 @@ public final class DefaultClient implements Client {
     private static final int UNAUTHORIZED = 401;
     private static final String AUTHORIZATION = "Authorization";
     private static final String DPOP = "DPoP";
+    private static final String DPOP_NONCE = "DPoP-Nonce";
+    private static final String USE_DPOP_NONCE = "use_dpop_nonce";
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultClient.class);
 
-    private final ReactiveAuthorization authHandler = new ReactiveAuthorization();
+    private final ReactiveAuthorization authHandler;
     private final HttpService httpClient;
     private final Session clientSession;
+    private final RequestScheduler scheduler;
+    private final List<Interceptor> interceptors;
+    private final MeteredExecutor responseExecutor;
 
     DefaultClient(final HttpService httpClient) {
-        this(httpClient, Session.anonymous());
+        this(httpClient, Session.anonymous(), AuthorizationHolder.INSTANCE);
     }
 
     DefaultClient(final HttpService httpClient, final Session session) {
+        this(httpClient, session, AuthorizationHolder.INSTANCE);
+    }
+
+    DefaultClient(final HttpService httpClient, final Session session, final ReactiveAuthorization authHandler) {
+        this(httpClient, session, authHandler, null);
+    }
+
+    DefaultClient(final HttpService httpClient, final Session session, final ReactiveAuthorization authHandler,
+            final RequestScheduler scheduler) {
+        this(httpClient, session, authHandler, scheduler, List.of(), null);
+    }
+
+    DefaultClient(final HttpService httpClient, final Session session, final ReactiveAuthorization authHandler,
+            final RequestScheduler scheduler, final List<Interceptor> interceptors,
+            final MeteredExecutor responseExecutor) {
         Objects.requireNonNull(httpClient, "Http client may not be null!");
         Objects.requireNonNull(session, "Session may not be null!");
+        Objects.requireNonNull(authHandler, "Authorization handler may not be null!");
+        Objects.requireNonNull(interceptors, "Interceptors may not be null!");
         this.httpClient = httpClient;
         this.clientSession = session;
+        this.authHandler = authHandler;
+        this.scheduler = scheduler;
+        this.interceptors = interceptors;
+        this.responseExecutor = responseExecutor;
     }
 
     @Override
     public Client session(final Session session) {
-        return new DefaultClient(this.httpClient, session);
+        // The authentication provider registry, its metadata caches, the request scheduler, the interceptors
+        // and the response executor are shared
+        return new DefaultClient(this.httpClient, session, this.authHandler, this.scheduler, this.interceptors,
+                this.responseExecutor);
     }
 
     @Override
     public <T> CompletionStage<Response<T>> send(final Request request,
             final Response.BodyHandler<T> responseBodyHandler) {
+        return interceptors.isEmpty()
+            ? exchange(request, responseBodyHandler)
+            : new InterceptorChain<>(this, clientSession, interceptors, 0, responseBodyHandler).proceed(request);
+    }
+
+    /**
+     * Get the number of responses that are waiting for the response executor.
+     *
+     * @return the number of queued responses, or zero if there is no response executor
+     */
+    public int getResponseQueueDepth() {
+        return responseExecutor != null ? responseExecutor.getQueueDepth() : 0;
+    }
+
+    /**
+     * Get the number of responses that have been passed to the response executor.
+     *
+     * @return the number of dispatched responses, or zero if there is no response executor
+     */
+    public long getResponseCount() {
+        return responseExecutor != null ? responseExecutor.getStartedCount() : 0;
+    }
+
+    /**
+     * Get the total time that responses spent waiting for the response executor.
+     *
+     * @return the cumulative queue time
+     */
+    public Duration getResponseQueueTime() {
+        return responseExecutor != null ? responseExecutor.getTotalQueueTime() : Duration.ZERO;
+    }
+
+    <T> CompletionStage<Response<T>> exchange(final Request request,
+            final Response.BodyHandler<T> responseBodyHandler) {
         // if there is already an auth header, just pass the request directly through
         if (request.headers().firstValue(AUTHORIZATION).isPresent()) {
             LOGGER.debug("Sending user-supplied authorization, skipping Solid authorization handling");
-            return httpClient.send(request, responseBodyHandler);
+            return sendRequest(request, responseBodyHandler);
         }
 
-        // Check session cache for a relevant access token
+        // Check session cache for a relevant access token and use that token, if present
         return clientSession.fromCache(request)
-            // Use that token, if present
-            .map(token -> httpClient.send(upgradeRequest(request, token), responseBodyHandler))
-            // Otherwise perform the regular HTTP authorization dance
-            .orElseGet(() -> httpClient.send(request, responseBodyHandler)
-                .thenCompose(res -> {
-                    if (res.statusCode() == UNAUTHORIZED) {
-                        final List<Challenge> challenges = WwwAuthenticate
-                            .parse(res.headers().allValues("WWW-Authenticate").toArray(new String[0]))
-                            .getChallenges();
-
-                        return authHandler.negotiate(clientSession, request, challenges)
-                            .thenCompose(token -> token.map(t ->
-                                        httpClient.send(upgradeRequest(request, t), responseBodyHandler))
-                                    .orElseGet(() -> CompletableFuture.completedFuture(res)))
-                            .exceptionally(err -> {
-                                LOGGER.debug("Unable to negotiate an authentication token: {}", err.getMessage());
-                                return res;
-                            });
-                    }
-                    return CompletableFuture.completedFuture(res);
-                }));
+            .map(token -> sendWithToken(request, responseBodyHandler, token)
+                    .thenApply(res -> {
+                        // Evict a rejected token so that it is not sent pre-emptively again
+                        if (res.statusCode() == UNAUTHORIZED) {
+                            clientSession.invalidate(request, token);
+                        }
+                        return res;
+                    }))
+            .orElseGet(() -> sendRequest(request, responseBodyHandler)
+                    .thenApply(res -> {
+                        updateNonce(request, res);
+                        return res;
+                    }))
+            // Perform the regular HTTP authorization dance if the request is rejected
+            .thenCompose(res -> handleChallenge(request, responseBodyHandler, res));
     }
 
-    Request upgradeRequest(final Request request, final Credential token) {
-        final Request.Builder builder = Request.newBuilder()
-            .uri(request.uri())
-            .method(request.method(), request.bodyPublisher().orElseGet(Request.BodyPublishers::noBody));
+    <T> CompletionStage<Response<T>> sendWithToken(final Request request,
+            final Response.BodyHandler<T> responseBodyHandler, final Credential token) {
+        return sendRequest(request, () -> upgradeRequest(request, token), responseBodyHandler)
+            .thenCompose(res -> {
+                // Retry once if the server requires a (new) DPoP nonce
+                if (updateNonce(request, res) && DPOP.equalsIgnoreCase(token.getScheme())
+                        && isNonceChallenge(res) && isRepeatable(request)) {
+                    LOGGER.debug("Retrying request with DPoP nonce: {}", request.uri());
+                    discard(res);
+                    return sendRequest(request, () -> upgradeRequest(request, token), responseBodyHandler)
+                        .thenApply(retried -> {
+                            updateNonce(request, retried);
+                            return retried;
+                        });
+                }
+                return CompletableFuture.completedFuture(res);
+            });
+    }
 
-        LOGGER.debug("Sending upgraded request: {}", request.uri());
-        request.timeout().ifPresent(builder::timeout);
-        request.headers().asMap().forEach((name, values) -> {
-            for (final String value : values) {
-                builder.header(name, value);
+    <T> CompletionStage<Response<T>> sendRequest(final Request request,
+            final Response.BodyHandler<T> responseBodyHandler) {
+        return sendRequest(request, () -> request, responseBodyHandler);
+    }
+
+    <T> CompletionStage<Response<T>> sendRequest(final Request request, final Supplier<Request> prepare,
+            final Response.BodyHandler<T> responseBodyHandler) {
+        if (responseExecutor == null) {
+            return transmit(request, prepare, responseBodyHandler);
+        }
+
+        // Apply the body handler on the response executor, so that reading and parsing the body, as well as
+        // the caller's dependent stages, do not run on I/O threads
+        final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        transmit(request, prepare, DeferredResponseInfo.HANDLER).whenComplete((res, err) -> {
+            try {
+                responseExecutor.execute(() -> {
+                    if (err != null) {
+                        result.completeExceptionally(err);
+                        return;
+                    }
+                    try {
+                        result.complete(res.body().handle(responseBodyHandler));
+                    } catch (final RuntimeException ex) {
+                        result.completeExceptionally(ex);
+                    }
+                });
+            } catch (final RuntimeException ex) {
+                // A rejected task must not leave the caller waiting, nor leak the response body
+                if (res != null) {
+                    res.body().close();
+                }
+                result.completeExceptionally(ex);
             }
         });
+        return result;
+    }
 
-        // Use setHeader to overwrite any possible existing authorization header
-        builder.setHeader(AUTHORIZATION, String.join(" ", token.getScheme(), token.getToken()));
+    <T> CompletionStage<Response<T>> transmit(final Request request, final Supplier<Request> prepare,
+            final Response.BodyHandler<T> responseBodyHandler) {
+        if (scheduler == null) {
+            return httpClient.send(prepare.get(), responseBodyHandler);
+        }
+        // Prepare the request once it is admitted, so that each attempt carries a fresh proof
+        return scheduler.send(request, clientSession.getId(), responseBodyHandler,
+                handler -> httpClient.send(prepare.get(), handler));
+    }
+
+    boolean updateNonce(final Request request, final Response<?> response) {
+        final Optional<String> nonce = response.headers().firstValue(DPOP_NONCE);
+        nonce.ifPresent(value -> clientSession.updateNonce(request.uri(), value));
+        return nonce.isPresent();
+    }
+
+    static boolean isNonceChallenge(final Response<?> response) {
+        if (response.statusCode() == UNAUTHORIZED) {
+            return response.headers().wwwAuthenticate().getChallenges().stream()
+                .anyMatch(challenge -> DPOP.equalsIgnoreCase(challenge.getScheme())
+                        && USE_DPOP_NONCE.equals(challenge.getParameter("error")));
+        }
+        return false;
+    }
+
+    static boolean isRepeatable(final Request request) {
+        return request.bodyPublisher().map(Request.BodyPublisher::isRepeatable).orElse(true);
+    }
+
+    <T> CompletionStage<Response<T>> handleChallenge(final Request request,
+            final Response.BodyHandler<T> responseBodyHandler, final Response<T> res) {
+        if (res.statusCode() == UNAUTHORIZED) {
+            final List<Challenge> challenges = res.headers().wwwAuthenticate().getChallenges();
+
+            return authHandler.negotiate(clientSession, request, challenges)
+                .exceptionally(err -> {
+                    LOGGER.debug("Unable to negotiate an authentication token: {}", err.getMessage());
+                    return Optional.empty();
+                })
+                .thenCompose(token -> token.map(t -> {
+                    if (!isRepeatable(request)) {
+                        // A large streamed body has already been consumed, so the request cannot be sent again
+                        discard(res);
+                        return CompletableFuture.<Response<T>>failedFuture(new InruptClientException(
+                                    "Unable to resend a request body that can be sent only once after an " +
+                                    "authentication challenge: " + request.uri()));
+                    }
+                    return sendWithToken(request, responseBodyHandler, t)
+                        .thenApply(upgraded -> {
+                            discard(res);
+                            return upgraded;
+                        })
+                        .exceptionally(err -> {
+                            LOGGER.debug("Unable to send an authenticated request: {}", err.getMessage());
+                            return res;
+                        });
+                }).orElseGet(() -> CompletableFuture.completedFuture(res)));
+        }
+        return CompletableFuture.completedFuture(res);
+    }
+
+    Request upgradeRequest(final Request request, final Credential token) {
+        LOGGER.debug("Sending upgraded request: {}", request.uri());
+        // Replace any existing authorization header, sharing the remaining request state
+        final Request upgraded = request.withHeader(AUTHORIZATION,
+                String.join(" ", token.getScheme(), token.getToken()));
         if (DPOP.equalsIgnoreCase(token.getScheme())) {
-            token.getProofThumbprint().flatMap(jkt -> clientSession.generateProof(jkt, request))
-                .ifPresent(proof -> builder.setHeader(DPOP, proof));
+            return token.getProofThumbprint().flatMap(jkt -> clientSession.generateProof(jkt, request))
+                .map(proof -> upgraded.withHeader(DPOP, proof))
+                .orElse(upgraded);
         }
+        return upgraded;
+    }
+
+    static void discard(final Response<?> response) {
+        // A streamed response body holds an open connection, which must be released if it is not returned
+        if (response.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.body()).close();
+            } catch (final Exception ex) {
+                LOGGER.debug("Unable to close unused response body: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lazily load the shared authentication provider registry.
+     */
+    static final class AuthorizationHolder {
+        static final ReactiveAuthorization INSTANCE = new ReactiveAuthorization();
 
-        return builder.build();
+        private AuthorizationHolder() {
+            // Prevent instantiation
+        }
     }
 
     public static Client.Builder newBuilder() {
         return new Builder();
     }
 
+    /**
+     * Create a builder for the default client, with access to its implementation-specific settings, such as
+     * the request scheduler.
+     *
+     * @return the builder
+     */
+    public static DefaultClient.Builder newDefaultBuilder() {
+        return new Builder();
+    }
+
     /**
      * The builder of the default client implementation.
      */
     public static class Builder implements Client.Builder {
 
         private HttpService instance;
+        private RequestScheduler scheduler;
+        private final List<Interceptor> interceptors = new ArrayList<>();
+        private Executor responseExecutor;
 
         @Override
-        public Client.Builder withInstance(final HttpService instance) {
+        public Builder withInstance(final HttpService instance) {
             this.instance = instance;
             return this;
         }
 
+        @Override
+        public Builder interceptor(final Interceptor interceptor) {
+            Objects.requireNonNull(interceptor, "Interceptor may not be null!");
+            this.interceptors.add(interceptor);
+            return this;
+        }
+
+        /**
+         * Limit the number of concurrent requests to each origin with a request scheduler.
+         *
+         * <p>The scheduler is shared with any session-scoped clients derived from the new client.
+         *
+         * @param scheduler the request scheduler, or {@code null} for no limits
+         * @return this builder
+         */
+        public Builder scheduler(final RequestScheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Process responses with a separate executor.
+         *
+         * <p>HTTP services apply response body handlers and complete responses on their network threads. With
+         * a response executor, the body handler is applied on that executor instead, and the returned stage
+         * completes there, so that reading and parsing RDF or JSON response bodies does not hold up other
+         * connections. Since a body handler may read the body as it arrives, these threads can block on network
+         * I/O. A {@link BoundedExecutor} limits this work to a fixed number of threads, and the client reports
+         * how many responses wait for the executor and for how long.
+         *
+         * @param executor the response executor, or {@code null} to complete responses on network threads
+         * @return this builder
+         */
+        public Builder responseExecutor(final Executor executor) {
+            this.responseExecutor = executor;
+            return this;
+        }
+
         @Override
         public Client build() {
-            if (instance == null) {
-                return new DefaultClient(ServiceProvider.getHttpService());
-            }
-            return new DefaultClient(instance);
+            final HttpService service = instance == null ? ServiceProvider.getHttpService() : instance;
+            return new DefaultClient(service, Session.anonymous(), AuthorizationHolder.INSTANCE, scheduler,
+                    List.copyOf(interceptors), responseExecutor == null ? null : new MeteredExecutor(responseExecutor));
         }
     }
 }
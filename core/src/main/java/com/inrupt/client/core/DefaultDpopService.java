@@ -20,26 +20,25 @@
  */
 package com.inrupt.client.core;
 
-import static org.jose4j.jwx.HeaderParameterNames.TYPE;
-import static org.jose4j.lang.HashUtil.SHA_256;
-
 import com.inrupt.client.auth.DPoP;
 import com.inrupt.client.spi.DpopService;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.security.KeyPair;
 import java.security.spec.ECParameterSpec;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.jose4j.jwk.PublicJsonWebKey;
-import org.jose4j.jws.JsonWebSignature;
-import org.jose4j.jwt.JwtClaims;
 import org.jose4j.keys.EcKeyUtil;
 import org.jose4j.keys.EllipticCurves;
 import org.jose4j.lang.JoseException;
@@ -51,28 +50,36 @@ import org.jose4j.lang.JoseException;
  */
 public class DefaultDpopService implements DpopService {
 
+    // Signers, with their precomputed thumbprints and headers, are shared by DPoP managers that use the same key
+    // material. The signers are weakly referenced, so that private keys are not retained once no DPoP manager
+    // uses them.
+    private static final Map<SignerKey, SignerReference> SIGNERS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ProofSigner> COLLECTED = new ReferenceQueue<>();
+
     @Override
     public DPoP ofKeyPairs(final Map<String, KeyPair> keypairs) {
         return new DPoPManager(keypairs);
     }
 
     public class DPoPManager implements DPoP {
-        private final Map<String, KeyPair> keypairs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, ProofSigner> signers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         private final Map<String, String> thumbprints = new HashMap<>();
+        private final Map<String, String> nonces = new ConcurrentHashMap<>();
 
         public DPoPManager(final Map<String, KeyPair> keypairs) {
             super();
             try {
-                this.keypairs.putAll(keypairs);
-                if (this.keypairs.isEmpty()) {
-                    this.keypairs.put("ES256", defaultKeyPair(EllipticCurves.P256));
+                final Map<String, KeyPair> items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                items.putAll(keypairs);
+                if (items.isEmpty()) {
+                    items.put("ES256", defaultKeyPair(EllipticCurves.P256));
                 }
 
-                // Populate the thumbprints
-                for (final Map.Entry<String, KeyPair> item : this.keypairs.entrySet()) {
-                    final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(item.getValue().getPublic());
-                    final String jkt = jwk.calculateBase64urlEncodedThumbprint(SHA_256);
-                    this.thumbprints.put(jkt, item.getKey());
+                // Prepare the signers and populate the thumbprints
+                for (final Map.Entry<String, KeyPair> item : items.entrySet()) {
+                    final ProofSigner signer = getSigner(item.getKey(), item.getValue());
+                    this.signers.put(item.getKey(), signer);
+                    this.thumbprints.put(signer.getThumbprint(), item.getKey());
                 }
             } catch (final JoseException ex) {
                 throw new AuthenticationException("Unable to process provided keypair", ex);
@@ -90,46 +97,114 @@ public class DefaultDpopService implements DpopService {
         @Override
         public Optional<String> lookupThumbprint(final String algorithm) {
             if (algorithm != null) {
-                return thumbprints.entrySet().stream().filter(e -> algorithm.equals(e.getValue()))
-                    .map(Map.Entry::getKey).findFirst();
+                return Optional.ofNullable(signers.get(algorithm)).map(ProofSigner::getThumbprint);
             }
             return Optional.empty();
         }
 
         @Override
         public String generateProof(final String algorithm, final URI uri, final String method) {
-            final KeyPair keypair = keypairs.get(Objects.requireNonNull(algorithm));
-            if (keypair == null) {
+            final ProofSigner signer = signers.get(Objects.requireNonNull(algorithm));
+            if (signer == null) {
                 throw new AuthenticationException("Unsupported DPoP algorithm: " + algorithm);
             }
 
-            final String htm = Objects.requireNonNull(method);
             final URI htu = Objects.requireNonNull(uri);
+            return signer.sign(htu, Objects.requireNonNull(method), nonces.get(Origins.of(htu)));
+        }
 
-            try {
-                final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(keypair.getPublic());
-                final JsonWebSignature jws = new JsonWebSignature();
-                jws.setAlgorithmHeaderValue(algorithm);
-                jws.setHeader(TYPE, "dpop+jwt");
-                jws.setJwkHeader(jwk);
-                jws.setKey(keypair.getPrivate());
-
-                final JwtClaims claims = new JwtClaims();
-                claims.setJwtId(UUID.randomUUID().toString());
-                claims.setStringClaim("htm", htm);
-                claims.setStringClaim("htu", htu.toString());
-                claims.setIssuedAtToNow();
-                jws.setPayload(claims.toJson());
-
-                return jws.getCompactSerialization();
-            } catch (final JoseException ex) {
-                throw new AuthenticationException("Unable to generate DPoP proof", ex);
+        @Override
+        public void updateNonce(final URI uri, final String nonce) {
+            if (uri != null && nonce != null) {
+                nonces.put(Origins.of(uri), nonce);
             }
         }
 
         @Override
         public Set<String> algorithms() {
-            return keypairs.keySet();
+            return signers.keySet();
+        }
+    }
+
+    static ProofSigner getSigner(final String algorithm, final KeyPair keypair) throws JoseException {
+        purgeSigners();
+        final byte[] material = keypair.getPublic().getEncoded();
+        if (material == null) {
+            // A key without an encoded form cannot be compared by value
+            return new ProofSigner(algorithm, keypair);
+        }
+
+        final SignerKey key = new SignerKey(algorithm, material);
+        final SignerReference ref = SIGNERS.get(key);
+        final ProofSigner cached = ref != null ? ref.get() : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        final ProofSigner signer = new ProofSigner(algorithm, keypair);
+        final SignerReference created = new SignerReference(key, signer);
+        while (true) {
+            final SignerReference existing = SIGNERS.putIfAbsent(key, created);
+            if (existing == null) {
+                return signer;
+            }
+            // Prefer a signer that a concurrent caller registered, unless it has since been collected
+            final ProofSigner other = existing.get();
+            if (other != null) {
+                return other;
+            }
+            if (SIGNERS.replace(key, existing, created)) {
+                return signer;
+            }
+        }
+    }
+
+    static void purgeSigners() {
+        Reference<? extends ProofSigner> ref;
+        while ((ref = COLLECTED.poll()) != null) {
+            final SignerReference collected = (SignerReference) ref;
+            SIGNERS.remove(collected.key, collected);
+        }
+    }
+
+    /**
+     * A signer cache key, consisting of the upper-case algorithm name and the encoded public key.
+     */
+    static final class SignerKey {
+        final String algorithm;
+        final byte[] material;
+        final int hash;
+
+        SignerKey(final String algorithm, final byte[] material) {
+            this.algorithm = algorithm.toUpperCase(Locale.ROOT);
+            this.material = material;
+            this.hash = 31 * this.algorithm.hashCode() + Arrays.hashCode(material);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SignerKey)) {
+                return false;
+            }
+            final SignerKey other = (SignerKey) obj;
+            return algorithm.equals(other.algorithm) && Arrays.equals(material, other.material);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    static final class SignerReference extends WeakReference<ProofSigner> {
+        final SignerKey key;
+
+        SignerReference(final SignerKey key, final ProofSigner signer) {
+            super(signer, COLLECTED);
+            this.key = key;
         }
     }
 
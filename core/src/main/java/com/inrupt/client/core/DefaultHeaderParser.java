@@ -39,6 +39,7 @@ import com.inrupt.client.spi.HeaderParser;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -57,44 +58,92 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A default header parser.
+ *
+ * <p>Header values are read with a single-pass parser. Values that this parser does not accept are
+ * handled by the ANTLR grammars from the parser module, which also serve as the reference implementation.
+ * Parsed values are cached by their raw string form, so that the identical values sent on many responses
+ * are only parsed once.
  */
 public class DefaultHeaderParser implements HeaderParser {
 
+    static final int CACHE_SIZE = 256;
+    static final int CACHE_VALUE_LENGTH = 4096;
+
+    private static final String TICKET = "ticket";
+
+    private static final LinkHeaderParser LINK_PARSER = new LinkHeaderParser();
+    private static final WwwAuthenticateHeaderParser WWW_AUTHENTICATE_PARSER = new WwwAuthenticateHeaderParser();
+    private static final WacAllowHeaderParser WAC_ALLOW_PARSER = new WacAllowHeaderParser();
+
+    private final HeaderValueCache<List<Link>> links = new HeaderValueCache<>(CACHE_SIZE, CACHE_VALUE_LENGTH);
+    // UMA tickets are issued for a single response, so challenges that carry one are not cached
+    private final HeaderValueCache<List<Challenge>> challenges =
+        new HeaderValueCache<>(CACHE_SIZE, CACHE_VALUE_LENGTH, DefaultHeaderParser::isReusable);
+    private final HeaderValueCache<Map<String, Set<String>>> accessParams =
+        new HeaderValueCache<>(CACHE_SIZE, CACHE_VALUE_LENGTH);
+
     @Override
     public List<Link> parseLink(final List<String> headers) {
         Objects.requireNonNull(headers, "Header values may not be null!");
-        final LinkHeaderParser parser = new LinkHeaderParser();
-        final List<Link> links = new ArrayList<>();
+        final List<Link> values = new ArrayList<>();
         for (final String header : headers) {
-            links.addAll(parser.parse(header));
+            values.addAll(links.get(header, DefaultHeaderParser::parseLinkValue));
         }
-        return links;
+        return values;
     }
 
     @Override
     public WwwAuthenticate parseWwwAuthenticate(final List<String> headers) {
-        final WwwAuthenticateHeaderParser parser = new WwwAuthenticateHeaderParser();
-        final List<Challenge> challenges = new ArrayList<>();
+        final List<Challenge> values = new ArrayList<>();
         for (final String header : headers) {
-            challenges.addAll(parser.parse(header));
+            values.addAll(challenges.get(header, DefaultHeaderParser::parseWwwAuthenticateValue));
         }
-        return WwwAuthenticate.of(challenges);
+        return WwwAuthenticate.of(values);
     }
 
     @Override
     public WacAllow parseWacAllow(final List<String> headers) {
-        final WacAllowHeaderParser parser = new WacAllowHeaderParser();
-        final Map<String, Set<String>> accessParams = new HashMap<>();
+        final Map<String, Set<String>> values = new HashMap<>();
 
         for (final String header : headers) {
-            final Map<String, Set<String>> accessParamEntry = parser.parse(header);
+            final Map<String, Set<String>> accessParamEntry =
+                accessParams.get(header, DefaultHeaderParser::parseWacAllowValue);
 
             for (Map.Entry<String, Set<String>> entry : accessParamEntry.entrySet()) {
-                accessParams.computeIfAbsent(entry.getKey(), k -> new HashSet<>())
+                values.computeIfAbsent(entry.getKey(), k -> new HashSet<>())
                             .addAll(entry.getValue());
             }
         }
-        return WacAllow.of(accessParams);
+        return WacAllow.of(values);
+    }
+
+    static boolean isReusable(final List<Challenge> challenges) {
+        for (final Challenge challenge : challenges) {
+            if (challenge.getParameter(TICKET) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<Link> parseLinkValue(final String header) {
+        final List<Link> parsed = SinglePassHeaderParser.parseLink(header);
+        return Collections.unmodifiableList(parsed != null ? parsed : LINK_PARSER.parse(header));
+    }
+
+    static List<Challenge> parseWwwAuthenticateValue(final String header) {
+        final List<Challenge> parsed = SinglePassHeaderParser.parseWwwAuthenticate(header);
+        return Collections.unmodifiableList(parsed != null ? parsed : WWW_AUTHENTICATE_PARSER.parse(header));
+    }
+
+    static Map<String, Set<String>> parseWacAllowValue(final String header) {
+        final Map<String, Set<String>> parsed = SinglePassHeaderParser.parseWacAllow(header);
+        final Map<String, Set<String>> values = new HashMap<>();
+        for (final Map.Entry<String, Set<String>> entry
+                : (parsed != null ? parsed : WAC_ALLOW_PARSER.parse(header)).entrySet()) {
+            values.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(values);
     }
 
     static final class Util {
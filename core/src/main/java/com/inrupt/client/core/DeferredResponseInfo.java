@@ -0,0 +1,189 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+
+/**
+ * Response data that is taken over from an HTTP service, so that the body handler can be applied on another
+ * thread.
+ */
+final class DeferredResponseInfo implements Response.ResponseInfo, AutoCloseable {
+
+    static final long DRAIN_LIMIT = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * A body handler that takes ownership of the response body stream without reading it.
+     */
+    static final Response.BodyHandler<DeferredResponseInfo> HANDLER = info ->
+        new DeferredResponseInfo(info.headers(), info.uri(), info.statusCode(), info.bodyAsStream());
+
+    private final Headers headers;
+    private final URI uri;
+    private final int statusCode;
+    private final InputStream input;
+    private ByteBuffer responseBody;
+    private boolean streamed;
+
+    DeferredResponseInfo(final Headers headers, final URI uri, final int statusCode, final InputStream input) {
+        this.headers = headers;
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.input = input;
+    }
+
+    @Override
+    public Headers headers() {
+        return headers;
+    }
+
+    @Override
+    public URI uri() {
+        return uri;
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public synchronized ByteBuffer body() {
+        if (responseBody == null) {
+            if (streamed) {
+                throw new IllegalStateException("Response body has already been consumed as a stream");
+            }
+            try (final InputStream stream = input) {
+                responseBody = ByteBuffer.wrap(stream.readAllBytes());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to handle response data", ex);
+            }
+        }
+        return responseBody;
+    }
+
+    @Override
+    public synchronized InputStream bodyAsStream() {
+        if (responseBody != null) {
+            return new ByteArrayInputStream(responseBody.array());
+        }
+        if (streamed) {
+            throw new IllegalStateException("Response body has already been consumed as a stream");
+        }
+        streamed = true;
+        return input;
+    }
+
+    /**
+     * Apply a body handler to this response.
+     *
+     * @param handler the body handler
+     * @param <T> the response body type
+     * @return the handled response
+     */
+    <T> Response<T> handle(final Response.BodyHandler<T> handler) {
+        final T value;
+        try {
+            value = handler.apply(this);
+        } finally {
+            release();
+        }
+        return new Response<T>() {
+            @Override
+            public T body() {
+                return value;
+            }
+
+            @Override
+            public Headers headers() {
+                return headers;
+            }
+
+            @Override
+            public URI uri() {
+                return uri;
+            }
+
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+        };
+    }
+
+    /**
+     * Release the underlying connection unless ownership of the body stream was passed to the handler.
+     *
+     * <p>An unread body of up to {@value #DRAIN_LIMIT} bytes is read to its end, so that the connection can be
+     * reused. Closing a stream with more data aborts the exchange instead.
+     */
+    synchronized void release() {
+        if (!streamed) {
+            try (final InputStream stream = input) {
+                final long length = headers.firstValue("Content-Length").map(DeferredResponseInfo::parseLength)
+                    .orElse(-1L);
+                if (length <= DRAIN_LIMIT) {
+                    drain(stream);
+                }
+            } catch (final IOException ex) {
+                // no-op
+            }
+        }
+    }
+
+    static void drain(final InputStream stream) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = DRAIN_LIMIT;
+        while (remaining > 0) {
+            final int count = stream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (count < 0) {
+                return;
+            }
+            remaining -= count;
+        }
+    }
+
+    static long parseLength(final String length) {
+        try {
+            return Long.parseLong(length.trim());
+        } catch (final NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (final IOException ex) {
+            // no-op
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of parsed header values, keyed by the raw header value.
+ *
+ * <p>Servers tend to send byte-identical header values on many responses, so a small cache avoids most
+ * repeated parsing. Values are held in two generations: once the current generation is full, it becomes the
+ * previous generation and a new, empty generation is started. A value that is read from the previous generation
+ * is carried over into the current one. Frequently used values therefore survive a stream of unique values,
+ * while lookups remain free of locking. Values longer than the configured maximum length, and parsed values
+ * that are specific to a single response, are never cached.
+ *
+ * @param <T> the parsed value type, which must be immutable
+ */
+final class HeaderValueCache<T> {
+
+    private final int maximumSize;
+    private final int maximumLength;
+    private final Predicate<? super T> cacheable;
+    private volatile Map<String, T> current = new ConcurrentHashMap<>();
+    private volatile Map<String, T> previous = new ConcurrentHashMap<>();
+
+    /**
+     * Create a header value cache.
+     *
+     * @param maximumSize the maximum number of cached values in each generation
+     * @param maximumLength the maximum length of a cached header value
+     */
+    HeaderValueCache(final int maximumSize, final int maximumLength) {
+        this(maximumSize, maximumLength, value -> true);
+    }
+
+    /**
+     * Create a header value cache.
+     *
+     * @param maximumSize the maximum number of cached values in each generation
+     * @param maximumLength the maximum length of a cached header value
+     * @param cacheable a test for whether a parsed value may be reused for other responses
+     */
+    HeaderValueCache(final int maximumSize, final int maximumLength, final Predicate<? super T> cacheable) {
+        this.maximumSize = maximumSize;
+        this.maximumLength = maximumLength;
+        this.cacheable = Objects.requireNonNull(cacheable, "Cacheable predicate may not be null!");
+    }
+
+    /**
+     * Get the parsed form of a header value, parsing and caching it if necessary.
+     *
+     * @param value the raw header value
+     * @param parser the header value parser
+     * @return the parsed value
+     */
+    T get(final String value, final Function<String, T> parser) {
+        Objects.requireNonNull(value, "Header value may not be null!");
+        final T cached = current.get(value);
+        if (cached != null) {
+            return cached;
+        }
+
+        final T retained = previous.get(value);
+        if (retained != null) {
+            add(value, retained);
+            return retained;
+        }
+
+        final T parsed = parser.apply(value);
+        if (value.length() <= maximumLength && cacheable.test(parsed)) {
+            add(value, parsed);
+        }
+        return parsed;
+    }
+
+    void add(final String value, final T parsed) {
+        Map<String, T> values = current;
+        if (values.size() >= maximumSize) {
+            synchronized (this) {
+                values = current;
+                if (values.size() >= maximumSize) {
+                    previous = values;
+                    values = new ConcurrentHashMap<>();
+                    current = values;
+                }
+            }
+        }
+        values.put(value, parsed);
+    }
+
+    int size() {
+        return current.size();
+    }
+}
@@ -0,0 +1,465 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.ClientCache;
+import com.inrupt.client.Headers;
+import com.inrupt.client.Interceptor;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+import com.inrupt.client.auth.Session;
+import com.inrupt.client.spi.ServiceProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An interceptor that caches HTTP responses and revalidates them with conditional requests.
+ *
+ * <p>Successful {@code GET} responses that carry an {@code ETag} or {@code Last-Modified} validator, or a
+ * {@code max-age} directive, are stored as bytes. The cache is keyed by the session principal, the request URI
+ * and the {@code Accept} header. A stored response is served without contacting the server while it is fresh
+ * according to its {@code Cache-Control: max-age} directive. Once it is stale, the request is sent with
+ * {@code If-None-Match} or {@code If-Modified-Since}, and a {@code 304 Not Modified} response is answered
+ * from the cache.
+ *
+ * <p>The {@code no-store} and {@code no-cache} directives are honoured on both requests and responses. Any
+ * request with an unsafe method invalidates the stored responses for its URI and principal. Requests that
+ * already carry an {@code Authorization} header or their own conditional headers bypass the cache.
+ *
+ * <p>Cacheable response bodies are read into memory before they are passed to the response body handler, and
+ * bodies larger than the size limit are not stored. The storage is built with the application's
+ * {@link com.inrupt.client.spi.CacheBuilderService}.
+ */
+public final class HttpCache implements Interceptor {
+
+    static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    static final Duration DEFAULT_EXPIRATION = Duration.ofMinutes(10);
+    static final int MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private static final String GET = "GET";
+    private static final String ACCEPT = "Accept";
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String VARY = "Vary";
+    private static final int OK = 200;
+    private static final int NOT_MODIFIED = 304;
+    private static final int NOT_FOUND = 404;
+    private static final int GONE = 410;
+    private static final long MAX_FRESHNESS = TimeUnit.DAYS.toSeconds(365);
+    private static final Set<String> SAFE_METHODS = Set.of(GET, "HEAD", "OPTIONS", "TRACE");
+    private static final Set<String> BYPASS_HEADERS = Set.of(AUTHORIZATION, IF_NONE_MATCH, IF_MODIFIED_SINCE,
+            "If-Match", "If-Unmodified-Since", "If-Range", "Range");
+
+    private final ClientCache<List<Object>, Entry> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    HttpCache(final ClientCache<List<Object>, Entry> cache) {
+        this.cache = Objects.requireNonNull(cache, "Cache may not be null!");
+    }
+
+    /**
+     * Create an HTTP cache with a default size and expiration.
+     *
+     * @return the HTTP cache
+     */
+    public static HttpCache of() {
+        return of(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRATION);
+    }
+
+    /**
+     * Create an HTTP cache.
+     *
+     * @param maximumSize the maximum number of cached resources
+     * @param expiration the duration after which a cached resource is evicted
+     * @return the HTTP cache
+     */
+    public static HttpCache of(final int maximumSize, final Duration expiration) {
+        return new HttpCache(ServiceProvider.getCacheBuilder().build(maximumSize, expiration));
+    }
+
+    /**
+     * Get the number of responses served from the cache without contacting the server.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of responses served from the cache after the server confirmed that they were unchanged.
+     *
+     * @return the number of successful revalidations
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Get the number of cacheable requests that required a full response from the server.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Remove all stored responses.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public <T> CompletionStage<Response<T>> intercept(final Request request, final Chain<T> chain) {
+        // Without a session, responses cannot be attributed to a principal
+        final Optional<Session> session = chain.session();
+        if (session.isEmpty()
+                || BYPASS_HEADERS.stream().anyMatch(name -> request.headers().firstValue(name).isPresent())) {
+            return chain.proceed(request);
+        }
+
+        final List<Object> key = List.of(session.get().getPrincipal().map(URI::toString).orElse(""),
+                request.uri());
+        final String method = request.method().toUpperCase(Locale.ROOT);
+        if (!SAFE_METHODS.contains(method)) {
+            // A write may change the resource, whatever its outcome
+            return chain.proceed(request).whenComplete((res, err) -> cache.invalidate(key));
+        }
+
+        final CacheControl requestControl = CacheControl.of(request.headers());
+        if (!GET.equals(method) || requestControl.noStore) {
+            return chain.proceed(request);
+        }
+
+        final String accept = String.join(",", request.headers().allValues(ACCEPT));
+        final Entry entry = cache.get(key);
+        final Variant stored = entry != null ? entry.variants.get(accept) : null;
+        final long now = System.nanoTime();
+        if (stored != null && !requestControl.noCache && stored.isFresh(now)) {
+            hits.increment();
+            return CompletableFuture.completedFuture(stored.toResponse(chain.bodyHandler()));
+        }
+
+        final Request conditional = stored != null ? stored.condition(request) : request;
+        final AtomicReference<Variant> captured = new AtomicReference<>();
+        final Response.BodyHandler<T> handler = chain.bodyHandler();
+        return chain.proceed(conditional, info -> {
+            if (stored != null && info.statusCode() == NOT_MODIFIED) {
+                // The stored representation is passed to the handler once the response has been received
+                close(info.bodyAsStream());
+                return null;
+            }
+            if (!Variant.isStorable(info)) {
+                return handler.apply(info);
+            }
+            // Read no more than the size limit, so that a large body can still be streamed to the caller
+            final InputStream input = info.bodyAsStream();
+            final byte[] body;
+            try {
+                body = input.readNBytes(MAX_ENTRY_SIZE + 1);
+            } catch (final IOException ex) {
+                close(input);
+                throw new UncheckedIOException("Error reading response body", ex);
+            }
+            if (body.length > MAX_ENTRY_SIZE) {
+                return handler.apply(replay(info, body, input));
+            }
+            close(input);
+            final Variant variant = new Variant(info.uri(), info.headers(), body,
+                    CacheControl.of(info.headers()).freshUntil(System.nanoTime()));
+            captured.set(variant);
+            return handler.apply(variant.info());
+        }).thenApply(res -> {
+            if (stored != null && res.statusCode() == NOT_MODIFIED) {
+                revalidations.increment();
+                final Variant refreshed = stored.refresh(res.headers(), System.nanoTime());
+                store(key, accept, refreshed);
+                return refreshed.toResponse(handler);
+            }
+            misses.increment();
+            final Variant variant = captured.get();
+            if (variant != null) {
+                store(key, accept, variant);
+            } else if (entry != null && (res.statusCode() == OK || res.statusCode() == NOT_FOUND
+                        || res.statusCode() == GONE)) {
+                // The stored representation has been replaced by one that may not be cached
+                entry.variants.remove(accept);
+            }
+            return res;
+        });
+    }
+
+    static Response.ResponseInfo replay(final Response.ResponseInfo info, final byte[] prefix,
+            final InputStream rest) {
+        final InputStream body = new SequenceInputStream(new ByteArrayInputStream(prefix), rest);
+        return new Response.ResponseInfo() {
+            @Override
+            public Headers headers() {
+                return info.headers();
+            }
+
+            @Override
+            public URI uri() {
+                return info.uri();
+            }
+
+            @Override
+            public int statusCode() {
+                return info.statusCode();
+            }
+
+            @Override
+            public ByteBuffer body() {
+                try (final InputStream input = body) {
+                    return ByteBuffer.wrap(input.readAllBytes());
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException("Error reading response body", ex);
+                }
+            }
+
+            @Override
+            public InputStream bodyAsStream() {
+                return body;
+            }
+        };
+    }
+
+    static void close(final InputStream input) {
+        try {
+            input.close();
+        } catch (final IOException ex) {
+            // no-op
+        }
+    }
+
+    void store(final List<Object> key, final String accept, final Variant variant) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            cache.put(key, entry);
+        }
+        entry.variants.put(accept, variant);
+    }
+
+    /**
+     * The stored representations of a resource, by {@code Accept} header.
+     */
+    static final class Entry {
+        final Map<String, Variant> variants = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A stored response and its validators.
+     */
+    static final class Variant {
+        final URI uri;
+        final Headers headers;
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        final long freshUntil;
+
+        Variant(final URI uri, final Headers headers, final byte[] body, final long freshUntil) {
+            this.uri = uri;
+            this.headers = headers;
+            this.body = body;
+            this.etag = headers.firstValue(ETAG).orElse(null);
+            this.lastModified = headers.firstValue(LAST_MODIFIED).orElse(null);
+            this.freshUntil = freshUntil;
+        }
+
+        static boolean isStorable(final Response.ResponseInfo info) {
+            if (info.statusCode() != OK) {
+                return false;
+            }
+            final Headers headers = info.headers();
+            final CacheControl control = CacheControl.of(headers);
+            final boolean validated = headers.firstValue(ETAG).isPresent()
+                || headers.firstValue(LAST_MODIFIED).isPresent();
+            return !(control.noStore || !validated && control.maxAge <= 0
+                    || headers.allValues(VARY).stream().anyMatch(value -> value.contains("*"))
+                    || headers.firstValue(CONTENT_LENGTH).map(Variant::tooLarge).orElse(false));
+        }
+
+        static boolean tooLarge(final String length) {
+            try {
+                return Long.parseLong(length.trim()) > MAX_ENTRY_SIZE;
+            } catch (final NumberFormatException ex) {
+                return false;
+            }
+        }
+
+        boolean isFresh(final long now) {
+            return freshUntil - now > 0;
+        }
+
+        Request condition(final Request request) {
+            Request conditional = request;
+            if (etag != null) {
+                conditional = conditional.withHeader(IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                conditional = conditional.withHeader(IF_MODIFIED_SINCE, lastModified);
+            }
+            return conditional;
+        }
+
+        Variant refresh(final Headers revalidated, final long now) {
+            // The validation response may carry new freshness information
+            final Headers source = revalidated.firstValue(CACHE_CONTROL).isPresent() ? revalidated : headers;
+            return new Variant(uri, headers, body, CacheControl.of(source).freshUntil(now));
+        }
+
+        Response.ResponseInfo info() {
+            return new Response.ResponseInfo() {
+                @Override
+                public Headers headers() {
+                    return headers;
+                }
+
+                @Override
+                public URI uri() {
+                    return uri;
+                }
+
+                @Override
+                public int statusCode() {
+                    return OK;
+                }
+
+                @Override
+                public ByteBuffer body() {
+                    // The stored bytes are shared, so a handler receives its own copy
+                    return ByteBuffer.wrap(body.clone());
+                }
+
+                @Override
+                public InputStream bodyAsStream() {
+                    return new ByteArrayInputStream(body);
+                }
+            };
+        }
+
+        <T> Response<T> toResponse(final Response.BodyHandler<T> handler) {
+            final T value = handler.apply(info());
+            return new Response<T>() {
+                @Override
+                public T body() {
+                    return value;
+                }
+
+                @Override
+                public Headers headers() {
+                    return headers;
+                }
+
+                @Override
+                public URI uri() {
+                    return uri;
+                }
+
+                @Override
+                public int statusCode() {
+                    return OK;
+                }
+            };
+        }
+    }
+
+    /**
+     * The directives of a {@code Cache-Control} header that affect a client cache.
+     */
+    static final class CacheControl {
+        final boolean noStore;
+        final boolean noCache;
+        final long maxAge;
+
+        CacheControl(final boolean noStore, final boolean noCache, final long maxAge) {
+            this.noStore = noStore;
+            this.noCache = noCache;
+            this.maxAge = maxAge;
+        }
+
+        static CacheControl of(final Headers headers) {
+            boolean noStore = false;
+            boolean noCache = false;
+            long maxAge = -1;
+            for (final String value : headers.allValues(CACHE_CONTROL)) {
+                for (final String directive : value.split(",")) {
+                    final int eq = directive.indexOf('=');
+                    final String name = (eq < 0 ? directive : directive.substring(0, eq)).trim()
+                        .toLowerCase(Locale.ROOT);
+                    if ("no-store".equals(name)) {
+                        noStore = true;
+                    } else if ("no-cache".equals(name)) {
+                        noCache = true;
+                    } else if ("max-age".equals(name) && eq >= 0) {
+                        maxAge = parseSeconds(directive.substring(eq + 1)).orElse(maxAge);
+                    }
+                }
+            }
+            return new CacheControl(noStore, noCache, maxAge);
+        }
+
+        static Optional<Long> parseSeconds(final String value) {
+            try {
+                return Optional.of(Long.parseLong(value.trim().replace("\"", "")));
+            } catch (final NumberFormatException ex) {
+                return Optional.empty();
+            }
+        }
+
+        long freshUntil(final long now) {
+            if (noCache || maxAge <= 0) {
+                return now;
+            }
+            return now + TimeUnit.SECONDS.toNanos(Math.min(maxAge, MAX_FRESHNESS));
+        }
+    }
+}
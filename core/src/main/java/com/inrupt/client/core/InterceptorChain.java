@@ -0,0 +1,80 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.Interceptor;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+import com.inrupt.client.auth.Session;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A position in a client's interceptor chain. The final position sends the request with the client itself.
+ *
+ * @param <T> the response body type
+ */
+final class InterceptorChain<T> implements Interceptor.Chain<T> {
+
+    private final DefaultClient client;
+    private final Session session;
+    private final List<Interceptor> interceptors;
+    private final int index;
+    private final Response.BodyHandler<T> bodyHandler;
+
+    InterceptorChain(final DefaultClient client, final Session session, final List<Interceptor> interceptors,
+            final int index, final Response.BodyHandler<T> bodyHandler) {
+        this.client = client;
+        this.session = session;
+        this.interceptors = interceptors;
+        this.index = index;
+        this.bodyHandler = bodyHandler;
+    }
+
+    @Override
+    public Response.BodyHandler<T> bodyHandler() {
+        return bodyHandler;
+    }
+
+    @Override
+    public Optional<Session> session() {
+        return Optional.of(session);
+    }
+
+    @Override
+    public CompletionStage<Response<T>> proceed(final Request request) {
+        return proceed(request, bodyHandler);
+    }
+
+    @Override
+    public CompletionStage<Response<T>> proceed(final Request request, final Response.BodyHandler<T> handler) {
+        Objects.requireNonNull(request, "Request may not be null!");
+        Objects.requireNonNull(handler, "Response body handler may not be null!");
+        if (index == interceptors.size()) {
+            return client.exchange(request, handler);
+        }
+        return interceptors.get(index)
+            .intercept(request, new InterceptorChain<>(client, session, interceptors, index + 1, handler));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An executor that records how many tasks are waiting for the executor that it wraps, and for how long.
+ */
+final class MeteredExecutor implements Executor {
+
+    private final Executor executor;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder queueTime = new LongAdder();
+
+    MeteredExecutor(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor may not be null!");
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                started.increment();
+                queueTime.add(System.nanoTime() - submitted);
+                task.run();
+            });
+        } catch (final RuntimeException ex) {
+            queued.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    int getQueueDepth() {
+        return queued.get();
+    }
+
+    long getStartedCount() {
+        return started.sum();
+    }
+
+    Duration getTotalQueueTime() {
+        return Duration.ofNanos(queueTime.sum());
+    }
+}
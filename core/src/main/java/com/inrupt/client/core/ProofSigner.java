@@ -0,0 +1,255 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jose4j.lang.HashUtil.SHA_256;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jose4j.jca.ProviderContext;
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwa.AlgorithmFactoryFactory;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jws.EcdsaUsingShaAlgorithm;
+import org.jose4j.jws.JsonWebSignatureAlgorithm;
+import org.jose4j.lang.JoseException;
+
+/**
+ * A DPoP proof signer for a single key pair.
+ *
+ * <p>The protected header of a DPoP proof depends only on the key pair, so it is serialized once, when
+ * the signer is created. Each proof then requires only the serialization of a small payload and a single
+ * signature operation. Initialized {@link Signature} instances are kept in a small pool, which is shared by
+ * all threads, including virtual threads, and a new instance is created only when the pool is empty.
+ */
+final class ProofSigner {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final Map<String, SignatureAlgorithm> JCA_ALGORITHMS = new HashMap<>();
+
+    static {
+        JCA_ALGORITHMS.put("ES256", new SignatureAlgorithm("SHA256withECDSA", null, 64));
+        JCA_ALGORITHMS.put("ES384", new SignatureAlgorithm("SHA384withECDSA", null, 96));
+        JCA_ALGORITHMS.put("ES512", new SignatureAlgorithm("SHA512withECDSA", null, 132));
+        JCA_ALGORITHMS.put("RS256", new SignatureAlgorithm("SHA256withRSA", null, 0));
+        JCA_ALGORITHMS.put("RS384", new SignatureAlgorithm("SHA384withRSA", null, 0));
+        JCA_ALGORITHMS.put("RS512", new SignatureAlgorithm("SHA512withRSA", null, 0));
+        JCA_ALGORITHMS.put("PS256", new SignatureAlgorithm("RSASSA-PSS",
+                    new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1), 0));
+        JCA_ALGORITHMS.put("PS384", new SignatureAlgorithm("RSASSA-PSS",
+                    new PSSParameterSpec("SHA-384", "MGF1", MGF1ParameterSpec.SHA384, 48, 1), 0));
+        JCA_ALGORITHMS.put("PS512", new SignatureAlgorithm("RSASSA-PSS",
+                    new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1), 0));
+    }
+
+    private final String algorithm;
+    private final KeyPair keypair;
+    private final String thumbprint;
+    private final String header;
+    private final SignatureAlgorithm jca;
+    private final Queue<Signature> signatures = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Create a proof signer.
+     *
+     * @param algorithm the JWS algorithm name
+     * @param keypair the key pair
+     * @throws JoseException if the public key cannot be represented as a JWK
+     */
+    ProofSigner(final String algorithm, final KeyPair keypair) throws JoseException {
+        this.algorithm = algorithm;
+        this.keypair = keypair;
+        this.jca = JCA_ALGORITHMS.get(algorithm.toUpperCase(Locale.ROOT));
+
+        final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(keypair.getPublic());
+        this.thumbprint = jwk.calculateBase64urlEncodedThumbprint(SHA_256);
+
+        final Map<String, Object> params = new LinkedHashMap<>();
+        params.put("alg", algorithm);
+        params.put("typ", "dpop+jwt");
+        params.put("jwk", jwk.toParams(JsonWebKey.OutputControlLevel.PUBLIC_ONLY));
+        this.header = ENCODER.encodeToString(JsonUtil.toJson(params).getBytes(UTF_8));
+    }
+
+    /**
+     * Get the JWS algorithm name.
+     *
+     * @return the algorithm
+     */
+    String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Get the JWK thumbprint of the public key.
+     *
+     * @return the base64url-encoded SHA-256 thumbprint
+     */
+    String getThumbprint() {
+        return thumbprint;
+    }
+
+    /**
+     * Get the serialized protected header.
+     *
+     * @return the base64url-encoded header
+     */
+    String getHeader() {
+        return header;
+    }
+
+    /**
+     * Generate a signed DPoP proof.
+     *
+     * @param uri the HTTP URI
+     * @param method the HTTP method
+     * @param nonce a server-provided nonce, may be {@code null}
+     * @return the compact serialization of the proof
+     */
+    String sign(final URI uri, final String method, final String nonce) {
+        final String input = header + '.' + ENCODER.encodeToString(payload(uri, method, nonce).getBytes(UTF_8));
+        final byte[] signature = signature(input.getBytes(US_ASCII));
+        return input + '.' + ENCODER.encodeToString(signature);
+    }
+
+    byte[] signature(final byte[] input) {
+        try {
+            if (jca != null) {
+                final Signature signer = acquire();
+                signer.update(input);
+                final byte[] signature = signer.sign();
+                // A signature object returns to its initialized state once a signature has been generated
+                release(signer);
+                if (jca.length > 0) {
+                    // JWS uses the concatenated R and S values rather than the DER encoding of an ECDSA signature
+                    return EcdsaUsingShaAlgorithm.convertDerToConcatenated(signature, jca.length);
+                }
+                return signature;
+            }
+
+            // Fall back to the jose4j implementation of less common algorithms
+            final JsonWebSignatureAlgorithm alg = AlgorithmFactoryFactory.getInstance()
+                .getJwsAlgorithmFactory().getAlgorithm(algorithm);
+            return alg.sign(alg.prepareForSign(keypair.getPrivate(), new ProviderContext()), input);
+        } catch (final GeneralSecurityException | IOException | JoseException ex) {
+            throw new AuthenticationException("Unable to generate DPoP proof", ex);
+        }
+    }
+
+    Signature acquire() throws GeneralSecurityException {
+        final Signature pooledSigner = signatures.poll();
+        if (pooledSigner != null) {
+            pooled.decrementAndGet();
+            return pooledSigner;
+        }
+        final Signature signer = jca.newSignature();
+        signer.initSign(keypair.getPrivate());
+        return signer;
+    }
+
+    void release(final Signature signer) {
+        if (pooled.incrementAndGet() <= POOL_SIZE) {
+            signatures.offer(signer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    int getPoolSize() {
+        return pooled.get();
+    }
+
+    static String payload(final URI uri, final String method, final String nonce) {
+        final StringBuilder builder = new StringBuilder(160);
+        builder.append("{\"htm\":");
+        appendString(builder, method);
+        builder.append(",\"htu\":");
+        appendString(builder, uri.toString());
+        builder.append(",\"iat\":").append(Instant.now().getEpochSecond());
+        builder.append(",\"jti\":\"").append(UUID.randomUUID()).append('"');
+        if (nonce != null) {
+            builder.append(",\"nonce\":");
+            appendString(builder, nonce);
+        }
+        return builder.append('}').toString();
+    }
+
+    static void appendString(final StringBuilder builder, final String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    static final class SignatureAlgorithm {
+        final String name;
+        final PSSParameterSpec parameters;
+        final int length;
+
+        SignatureAlgorithm(final String name, final PSSParameterSpec parameters, final int length) {
+            this.name = name;
+            this.parameters = parameters;
+            this.length = length;
+        }
+
+        Signature newSignature() {
+            try {
+                final Signature signature = Signature.getInstance(name);
+                if (parameters != null) {
+                    signature.setParameter(parameters);
+                }
+                return signature;
+            } catch (final GeneralSecurityException ex) {
+                throw new AuthenticationException("Unsupported DPoP signature algorithm: " + name, ex);
+            }
+        }
+    }
+}
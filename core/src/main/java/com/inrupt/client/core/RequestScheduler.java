@@ -0,0 +1,643 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A scheduler that limits the number of concurrent HTTP requests to each origin.
+ *
+ * <p>Requests are admitted with two limits: the number of requests in flight to an origin, and the number of
+ * requests in flight to an origin on behalf of a single session. Requests that exceed these limits wait in a
+ * queue. Within a session, queued requests are started in FIFO order. Across sessions, the scheduler takes
+ * turns, so that a session with many queued requests cannot starve the other sessions that use the same
+ * origin.
+ *
+ * <p>A permit is held until the response is available. For streamed response bodies, this is before the body
+ * has been read.
+ *
+ * <p>When an origin responds with {@code 429 Too Many Requests} or {@code 503 Service Unavailable} and a
+ * {@code Retry-After} header, no further requests are sent to that origin until the indicated time. Idempotent
+ * requests that were rejected in this way are retried automatically, up to a small number of times.
+ *
+ * <p>An adaptive scheduler also adjusts the per-origin limit, using additive increase and multiplicative
+ * decrease: the limit grows while response times stay close to the lowest observed response time, and shrinks
+ * when response times rise or the origin reports that it is overloaded. A response time is measured until the
+ * response headers are received, so it excludes the time taken to download and parse the response body. The
+ * configured per-origin limit is an
+ * upper bound. The state of an origin that has been throttled is kept while the origin is in use, and it is
+ * discarded once the origin has been idle for a minute.
+ *
+ * <p>A scheduler may be shared by several clients. Its queue depth and in-flight counts can be used for
+ * monitoring.
+ */
+public final class RequestScheduler {
+
+    static final int MAX_RETRIES = 3;
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+    static final double OVERLOAD_BACKOFF = 0.5;
+    static final double LATENCY_BACKOFF = 0.9;
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final int LATENCY_SMOOTHING = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE",
+            "TRACE");
+
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+    private final AtomicLong sweptAt = new AtomicLong(System.nanoTime());
+    private final int maxRequestsPerOrigin;
+    private final int maxRequestsPerSession;
+    private final boolean adaptive;
+
+    private RequestScheduler(final int maxRequestsPerOrigin, final int maxRequestsPerSession,
+            final boolean adaptive) {
+        if (maxRequestsPerOrigin < 1 || maxRequestsPerSession < 1) {
+            throw new IllegalArgumentException("Request limits must be at least one");
+        }
+        this.maxRequestsPerOrigin = maxRequestsPerOrigin;
+        this.maxRequestsPerSession = maxRequestsPerSession;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Create a request scheduler.
+     *
+     * @param maxRequestsPerOrigin the maximum number of concurrent requests to a single origin
+     * @return the request scheduler
+     */
+    public static RequestScheduler of(final int maxRequestsPerOrigin) {
+        return of(maxRequestsPerOrigin, maxRequestsPerOrigin);
+    }
+
+    /**
+     * Create a request scheduler.
+     *
+     * @param maxRequestsPerOrigin the maximum number of concurrent requests to a single origin
+     * @param maxRequestsPerSession the maximum number of concurrent requests to a single origin for any one
+     *                              session
+     * @return the request scheduler
+     */
+    public static RequestScheduler of(final int maxRequestsPerOrigin, final int maxRequestsPerSession) {
+        return new RequestScheduler(maxRequestsPerOrigin, maxRequestsPerSession, false);
+    }
+
+    /**
+     * Create a request scheduler that adapts its per-origin limits to the observed load on each origin.
+     *
+     * @param maxRequestsPerOrigin the upper bound on concurrent requests to a single origin
+     * @return the request scheduler
+     */
+    public static RequestScheduler adaptive(final int maxRequestsPerOrigin) {
+        return adaptive(maxRequestsPerOrigin, maxRequestsPerOrigin);
+    }
+
+    /**
+     * Create a request scheduler that adapts its per-origin limits to the observed load on each origin.
+     *
+     * @param maxRequestsPerOrigin the upper bound on concurrent requests to a single origin
+     * @param maxRequestsPerSession the maximum number of concurrent requests to a single origin for any one
+     *                              session
+     * @return the request scheduler
+     */
+    public static RequestScheduler adaptive(final int maxRequestsPerOrigin, final int maxRequestsPerSession) {
+        return new RequestScheduler(maxRequestsPerOrigin, maxRequestsPerSession, true);
+    }
+
+    /**
+     * Get the maximum number of concurrent requests to a single origin.
+     *
+     * @return the per-origin request limit
+     */
+    public int getMaxRequestsPerOrigin() {
+        return maxRequestsPerOrigin;
+    }
+
+    /**
+     * Get the maximum number of concurrent requests to a single origin for any one session.
+     *
+     * @return the per-session request limit
+     */
+    public int getMaxRequestsPerSession() {
+        return maxRequestsPerSession;
+    }
+
+    /**
+     * Indicate whether this scheduler adapts its per-origin limits to the observed load.
+     *
+     * @return true if the per-origin limits are adaptive
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Get the current limit on concurrent requests to an origin.
+     *
+     * @param uri a URI of the origin
+     * @return the current per-origin request limit
+     */
+    public int getLimit(final URI uri) {
+        final Origin origin = origins.get(Origins.of(uri));
+        if (origin == null) {
+            return maxRequestsPerOrigin;
+        }
+        synchronized (origin) {
+            return origin.limit();
+        }
+    }
+
+    /**
+     * Get the number of queued requests across all origins.
+     *
+     * @return the total queue depth
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (final Origin origin : origins.values()) {
+            synchronized (origin) {
+                depth += origin.queued;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Get the number of queued requests for an origin.
+     *
+     * @param uri a URI of the origin
+     * @return the queue depth for the origin
+     */
+    public int getQueueDepth(final URI uri) {
+        final Origin origin = origins.get(Origins.of(uri));
+        if (origin == null) {
+            return 0;
+        }
+        synchronized (origin) {
+            return origin.queued;
+        }
+    }
+
+    /**
+     * Get the number of requests in flight to an origin.
+     *
+     * @param uri a URI of the origin
+     * @return the number of requests in flight to the origin
+     */
+    public int getInFlight(final URI uri) {
+        final Origin origin = origins.get(Origins.of(uri));
+        if (origin == null) {
+            return 0;
+        }
+        synchronized (origin) {
+            return origin.inFlight;
+        }
+    }
+
+    /**
+     * Schedule an HTTP request, retrying it if the origin asks for the request to be repeated later.
+     *
+     * <p>The response time of the request is measured until the response body handler is invoked.
+     *
+     * @param request the HTTP request
+     * @param session the session identifier
+     * @param handler the response body handler
+     * @param send the action that sends the request with a body handler once a permit is available
+     * @param <T> the response body type
+     * @return the next stage of completion, containing the response
+     */
+    <T> CompletionStage<Response<T>> send(final Request request, final String session,
+            final Response.BodyHandler<T> handler,
+            final Function<Response.BodyHandler<T>, ? extends CompletionStage<Response<T>>> send) {
+        final boolean retryable = IDEMPOTENT_METHODS.contains(request.method().toUpperCase(Locale.ROOT))
+            && DefaultClient.isRepeatable(request);
+        final Call<Response<T>> call = new Call<>(Origins.of(request.uri()), session,
+                received -> send.apply(info -> {
+                    received.run();
+                    return handler.apply(info);
+                }), response -> throttle(response, retryable, Instant.now()));
+        return submit(call);
+    }
+
+    /**
+     * Schedule an HTTP request.
+     *
+     * @param uri the request URI
+     * @param session the session identifier
+     * @param request the action that sends the request once a permit is available
+     * @param <T> the response type
+     * @return the next stage of completion, containing the response
+     */
+    <T> CompletionStage<T> submit(final URI uri, final String session,
+            final Supplier<? extends CompletionStage<T>> request) {
+        return submit(uri, session, request, response -> null);
+    }
+
+    <T> CompletionStage<T> submit(final URI uri, final String session,
+            final Supplier<? extends CompletionStage<T>> request, final Function<? super T, Throttle> feedback) {
+        Objects.requireNonNull(request, "Request may not be null!");
+        return submit(new Call<>(Origins.of(uri), session, received -> request.get(), feedback));
+    }
+
+    <T> CompletionStage<T> submit(final Call<T> call) {
+        final long now = System.nanoTime();
+        final long swept = sweptAt.get();
+        if (now - swept >= IDLE_TIMEOUT.toNanos() && sweptAt.compareAndSet(swept, now)) {
+            sweep(now);
+        }
+        Origin origin;
+        while (true) {
+            origin = origins.computeIfAbsent(call.key, k -> new Origin(maxRequestsPerOrigin));
+            synchronized (origin) {
+                if (!origin.retired) {
+                    origin.enqueue(task(origin, call), false);
+                    break;
+                }
+            }
+        }
+        dispatch(origin);
+        return call.result;
+    }
+
+    <T> Task task(final Origin origin, final Call<T> call) {
+        return new Task(call.session, () -> start(origin, call));
+    }
+
+    <T> void start(final Origin origin, final Call<T> call) {
+        final long started = System.nanoTime();
+        // The time at which the response was received, if the request reports it
+        final AtomicLong received = new AtomicLong(started);
+        CompletionStage<T> stage;
+        try {
+            stage = call.request.apply(() -> received.compareAndSet(started, System.nanoTime()));
+        } catch (final RuntimeException ex) {
+            stage = CompletableFuture.failedFuture(ex);
+        }
+        stage.whenComplete((response, error) -> {
+            Throwable failure = error;
+            Throttle throttle = null;
+            if (error == null) {
+                try {
+                    throttle = call.feedback.apply(response);
+                } catch (final RuntimeException ex) {
+                    failure = ex;
+                }
+            }
+            final boolean retry = failure == null && throttle != null && throttle.retry
+                && call.attempts < MAX_RETRIES;
+            // Release a response that the caller will not receive
+            final boolean delivered = error == null && failure == null && !retry;
+            if (error == null && !delivered && response instanceof Response) {
+                DefaultClient.discard((Response<?>) response);
+            }
+            try {
+                release(origin, call, error == null ? latency(started, received.get()) : -1, throttle, retry);
+            } catch (final RuntimeException | Error ex) {
+                // Never leave the caller waiting
+                if (call.result.completeExceptionally(ex) && delivered && response instanceof Response) {
+                    DefaultClient.discard((Response<?>) response);
+                }
+                throw ex;
+            }
+            if (retry) {
+                return;
+            }
+            if (failure != null) {
+                call.result.completeExceptionally(failure);
+            } else {
+                call.result.complete(response);
+            }
+        });
+    }
+
+    static long latency(final long started, final long received) {
+        // Fall back to the completion time for requests that do not report when the response was received
+        return (received != started ? received : System.nanoTime()) - started;
+    }
+
+    <T> void release(final Origin origin, final Call<T> call, final long latency, final Throttle throttle,
+            final boolean retry) {
+        synchronized (origin) {
+            final long now = System.nanoTime();
+            origin.release(call.session);
+            if (adaptive && latency >= 0) {
+                origin.update(latency, throttle != null, now, maxRequestsPerOrigin);
+            }
+            if (throttle != null && throttle.delay != null) {
+                // Cap the delay before conversion, since a distant Retry-After value overflows as nanoseconds
+                final Duration delay = throttle.delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY
+                    : throttle.delay;
+                origin.pause(now + delay.toNanos());
+            }
+            if (retry) {
+                // The retried request keeps its place at the head of its session's queue
+                call.attempts++;
+                origin.enqueue(task(origin, call), true);
+            } else if (origin.isIdle()) {
+                if (origin.isSteady(maxRequestsPerOrigin, now)) {
+                    origin.retired = true;
+                    origins.remove(call.key, origin);
+                    return;
+                }
+                // A throttled origin keeps its state for a while, until it is swept
+                origin.idleSince = now;
+            }
+        }
+        dispatch(origin);
+    }
+
+    /**
+     * Retire the origins that have been idle for longer than {@link #IDLE_TIMEOUT}, once any pause has elapsed.
+     *
+     * <p>A retired origin starts again from the configured per-origin limit.
+     *
+     * @param now the current time, in nanoseconds
+     */
+    void sweep(final long now) {
+        for (final Map.Entry<String, Origin> entry : origins.entrySet()) {
+            final Origin origin = entry.getValue();
+            synchronized (origin) {
+                if (!origin.retired && origin.isIdle() && now - origin.idleSince >= IDLE_TIMEOUT.toNanos()
+                        && origin.pausedUntil - now <= 0) {
+                    origin.retired = true;
+                    origins.remove(entry.getKey(), origin);
+                }
+            }
+        }
+    }
+
+    void dispatch(final Origin origin) {
+        synchronized (origin) {
+            // A request that completes synchronously re-enters here, so only one caller runs the loop
+            if (origin.dispatching) {
+                origin.rerun = true;
+                return;
+            }
+            origin.dispatching = true;
+        }
+        while (true) {
+            final List<Task> tasks;
+            synchronized (origin) {
+                final long now = System.nanoTime();
+                tasks = origin.poll(maxRequestsPerSession, now);
+                if (tasks.isEmpty() && !origin.rerun) {
+                    origin.dispatching = false;
+                    // Wake up once a pause requested by the origin has elapsed
+                    if (origin.queued > 0 && !origin.waiting && origin.pausedUntil - now > 0) {
+                        origin.waiting = true;
+                        CompletableFuture.delayedExecutor(origin.pausedUntil - now, TimeUnit.NANOSECONDS)
+                            .execute(() -> wake(origin));
+                    }
+                    return;
+                }
+                origin.rerun = false;
+            }
+            for (final Task task : tasks) {
+                task.action.run();
+            }
+        }
+    }
+
+    void wake(final Origin origin) {
+        synchronized (origin) {
+            origin.waiting = false;
+        }
+        dispatch(origin);
+    }
+
+    static Throttle throttle(final Response<?> response, final boolean retryable, final Instant now) {
+        if (response.statusCode() != TOO_MANY_REQUESTS && response.statusCode() != SERVICE_UNAVAILABLE) {
+            return null;
+        }
+        final Duration delay = response.headers().firstValue(RETRY_AFTER)
+            .flatMap(value -> retryAfter(value, now)).orElse(null);
+        return new Throttle(delay, retryable && delay != null && delay.compareTo(MAX_RETRY_DELAY) <= 0);
+    }
+
+    /**
+     * Parse a {@code Retry-After} header value, which is either a number of seconds or an HTTP date.
+     *
+     * @param value the header value
+     * @param now the current time
+     * @return the delay, if the value could be parsed
+     */
+    static Optional<Duration> retryAfter(final String value, final Instant now) {
+        final String trimmed = value.trim();
+        try {
+            if (!trimmed.isEmpty() && trimmed.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                return Optional.of(Duration.ofSeconds(Long.parseLong(trimmed)));
+            }
+            final Duration delay = Duration.between(now,
+                    Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(trimmed)));
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (final NumberFormatException | DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A signal from an origin that it is overloaded.
+     */
+    static final class Throttle {
+        final Duration delay;
+        final boolean retry;
+
+        Throttle(final Duration delay, final boolean retry) {
+            this.delay = delay;
+            this.retry = retry;
+        }
+    }
+
+    static final class Call<T> {
+        final String key;
+        final String session;
+        // Sends the request, given a callback that records when the response was received
+        final Function<Runnable, ? extends CompletionStage<T>> request;
+        final Function<? super T, Throttle> feedback;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        int attempts;
+
+        Call(final String key, final String session, final Function<Runnable, ? extends CompletionStage<T>> request,
+                final Function<? super T, Throttle> feedback) {
+            this.key = key;
+            this.session = session;
+            this.request = request;
+            this.feedback = feedback;
+        }
+    }
+
+    static final class Task {
+        final String session;
+        final Runnable action;
+
+        Task(final String session, final Runnable action) {
+            this.session = session;
+            this.action = action;
+        }
+    }
+
+    /**
+     * The scheduling state for a single origin, guarded by its own monitor.
+     */
+    static final class Origin {
+        // Queued requests for each session
+        final Map<String, Deque<Task>> queues = new LinkedHashMap<>();
+        // In-flight requests and the most recent turn for each active session
+        final Map<String, Integer> sessions = new HashMap<>();
+        final Map<String, Long> turns = new HashMap<>();
+        long turn;
+        int inFlight;
+        int queued;
+        // The current concurrency limit and the smoothed minimum response time, in nanoseconds
+        double limit;
+        long baseline;
+        long decreasedAt;
+        long pausedUntil;
+        long idleSince;
+        boolean retired;
+        boolean dispatching;
+        boolean rerun;
+        boolean waiting;
+
+        Origin(final int limit) {
+            this.limit = limit;
+            this.decreasedAt = System.nanoTime();
+            this.pausedUntil = decreasedAt;
+            this.idleSince = decreasedAt;
+        }
+
+        int limit() {
+            return (int) limit;
+        }
+
+        void enqueue(final Task task, final boolean first) {
+            final Deque<Task> queue = queues.computeIfAbsent(task.session, k -> new ArrayDeque<>());
+            if (first) {
+                queue.addFirst(task);
+            } else {
+                queue.addLast(task);
+            }
+            queued++;
+        }
+
+        List<Task> poll(final int maxRequestsPerSession, final long now) {
+            final List<Task> tasks = new ArrayList<>();
+            while (inFlight < limit() && queued > 0 && pausedUntil - now <= 0) {
+                final String session = next(maxRequestsPerSession);
+                if (session == null) {
+                    break;
+                }
+                // Serve the session's oldest request and record its turn
+                final Deque<Task> queue = queues.get(session);
+                tasks.add(queue.poll());
+                if (queue.isEmpty()) {
+                    queues.remove(session);
+                }
+                sessions.merge(session, 1, Integer::sum);
+                turns.put(session, ++turn);
+                inFlight++;
+                queued--;
+            }
+            return tasks;
+        }
+
+        String next(final int maxRequestsPerSession) {
+            // Choose the least recently served session that is below its limit
+            String next = null;
+            long oldest = Long.MAX_VALUE;
+            for (final String session : queues.keySet()) {
+                final long last = turns.getOrDefault(session, 0L);
+                if (last < oldest && sessions.getOrDefault(session, 0) < maxRequestsPerSession) {
+                    next = session;
+                    oldest = last;
+                }
+            }
+            return next;
+        }
+
+        void release(final String session) {
+            inFlight--;
+            if (sessions.computeIfPresent(session, (k, count) -> count > 1 ? count - 1 : null) == null
+                    && !queues.containsKey(session)) {
+                turns.remove(session);
+            }
+        }
+
+        void update(final long latency, final boolean overloaded, final long now, final int maxLimit) {
+            final boolean slow = baseline > 0 && latency > baseline * LATENCY_TOLERANCE;
+            baseline = baseline == 0 || latency < baseline ? latency
+                : baseline + (latency - baseline) / LATENCY_SMOOTHING;
+            if (overloaded || slow) {
+                // The other in-flight responses reflect the same load, so back off at most once per round trip
+                if (now - decreasedAt >= baseline) {
+                    limit = Math.max(1, limit * (overloaded ? OVERLOAD_BACKOFF : LATENCY_BACKOFF));
+                    decreasedAt = now;
+                }
+            } else {
+                // Grow by about one request per round trip
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+
+        void pause(final long until) {
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        }
+
+        boolean isIdle() {
+            return inFlight == 0 && queued == 0;
+        }
+
+        boolean isSteady(final int maxLimit, final long now) {
+            // An origin that has been throttled keeps its state until it has recovered or it is swept
+            return limit >= maxLimit && pausedUntil - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.Headers.Link;
+import com.inrupt.client.auth.Challenge;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single-pass parser for Link, WWW-Authenticate and WAC-Allow header values.
+ *
+ * <p>Each method accepts the input that the corresponding grammar in the parser module matches without error
+ * and produces the same values as the grammar-based parser. For any other input, the methods return
+ * {@code null} so that the caller can fall back to the grammar-based parser and its error recovery.
+ */
+final class SinglePassHeaderParser {
+
+    private static final int NONE = -1;
+    private static final int AUTH_PARAM = 1;
+    private static final int AUTH_SCHEME = 2;
+    private static final int TOKEN68 = 3;
+
+    private static final boolean[] TCHARS = new boolean[128];
+    private static final boolean[] TOKEN68_CHARS = new boolean[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            TCHARS[c] = true;
+            TOKEN68_CHARS[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            TCHARS[c] = true;
+            TOKEN68_CHARS[c] = true;
+            TCHARS[Character.toUpperCase(c)] = true;
+            TOKEN68_CHARS[Character.toUpperCase(c)] = true;
+        }
+        for (final char c : "!#$%&'*+-.^_`|~".toCharArray()) {
+            TCHARS[c] = true;
+        }
+        for (final char c : "-._~+/".toCharArray()) {
+            TOKEN68_CHARS[c] = true;
+        }
+    }
+
+    /**
+     * Parse a Link header value.
+     *
+     * @param header the header value
+     * @return the links, or {@code null} if the value requires the grammar-based parser
+     */
+    static List<Link> parseLink(final String header) {
+        final int length = header.length();
+        final List<Link> links = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            final int end = uriReference(header, pos);
+            if (end == NONE) {
+                return null;
+            }
+
+            final URI uri;
+            try {
+                uri = URI.create(header.substring(pos + 1, end - 1));
+            } catch (final IllegalArgumentException ex) {
+                return null;
+            }
+            pos = end;
+
+            // ( WS? ';' WS? LinkParam )*
+            final Map<String, String> params = new HashMap<>();
+            while (true) {
+                final int separator = skipWhitespace(header, pos);
+                if (separator == length || header.charAt(separator) != ';') {
+                    break;
+                }
+                final int name = skipWhitespace(header, separator + 1);
+                final int equals = run(header, name, TCHARS);
+                if (equals == name || equals == length || header.charAt(equals) != '=') {
+                    return null;
+                }
+                pos = tokenOrQuotedString(header, equals + 1);
+                if (pos == NONE) {
+                    return null;
+                }
+                params.put(header.substring(name, equals), unquote(header, equals + 1, pos));
+            }
+            links.add(Link.of(uri, params));
+
+            // The grammar does not permit whitespace around the comma, but its error recovery discards it
+            pos = skipWhitespace(header, pos);
+            if (pos == length) {
+                return links;
+            }
+            if (header.charAt(pos) != ',') {
+                return null;
+            }
+            pos = skipWhitespace(header, pos + 1);
+        }
+    }
+
+    /**
+     * Parse a WWW-Authenticate header value.
+     *
+     * @param header the header value
+     * @return the challenges, or {@code null} if the value requires the grammar-based parser
+     */
+    static List<Challenge> parseWwwAuthenticate(final String header) {
+        final int length = header.length();
+        final List<Challenge> challenges = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int end = authTokenEnd(header, pos);
+            if (authTokenType(header, pos, end) != AUTH_SCHEME) {
+                return null;
+            }
+            final String scheme = header.substring(pos, end);
+            pos = end;
+
+            // ( WS ( Token68 | AuthParam ( WS? ',' WS? AuthParam )* ) )*
+            final Map<String, String> params = new HashMap<>();
+            while (true) {
+                final int start = skipWhitespace(header, pos);
+                if (start == pos) {
+                    break;
+                }
+                end = authTokenEnd(header, start);
+                final int type = authTokenType(header, start, end);
+                if (type == TOKEN68) {
+                    pos = end;
+                } else if (type == AUTH_PARAM) {
+                    authParam(header, start, end, params);
+                    pos = end;
+                    while (true) {
+                        final int separator = skipWhitespace(header, pos);
+                        if (separator == length || header.charAt(separator) != ',') {
+                            break;
+                        }
+                        final int next = skipWhitespace(header, separator + 1);
+                        end = authTokenEnd(header, next);
+                        if (authTokenType(header, next, end) != AUTH_PARAM) {
+                            break;
+                        }
+                        authParam(header, next, end, params);
+                        pos = end;
+                    }
+                } else {
+                    break;
+                }
+            }
+            challenges.add(Challenge.of(scheme, params));
+
+            if (pos == length) {
+                return challenges;
+            }
+            if (header.charAt(pos) != ',') {
+                return null;
+            }
+            pos = skipWhitespace(header, pos + 1);
+        }
+    }
+
+    /**
+     * Parse a WAC-Allow header value.
+     *
+     * @param header the header value
+     * @return the access parameters, or {@code null} if the value requires the grammar-based parser
+     */
+    static Map<String, Set<String>> parseWacAllow(final String header) {
+        final int length = header.length();
+        final Map<String, Set<String>> accessParams = new HashMap<>();
+        int pos = 0;
+        while (true) {
+            // Whitespace around the equals sign is retained by the grammar-based parser, so it is not handled here
+            final int group = pos;
+            pos = alphas(header, pos);
+            if (pos == group || pos + 1 >= length || header.charAt(pos) != '=' || header.charAt(pos + 1) != '"') {
+                return null;
+            }
+            final String permissionGroup = header.substring(group, pos);
+            pos += 2;
+            while (pos < length && header.charAt(pos) != '"') {
+                if (header.charAt(pos) == ' ') {
+                    pos++;
+                } else {
+                    final int mode = pos;
+                    pos = alphas(header, pos);
+                    if (pos == mode) {
+                        return null;
+                    }
+                    accessParams.computeIfAbsent(permissionGroup, k -> new HashSet<>())
+                        .add(header.substring(mode, pos));
+                }
+            }
+            if (pos == length) {
+                return null;
+            }
+
+            pos = skipWhitespace(header, pos + 1);
+            if (pos == length) {
+                return accessParams;
+            }
+            if (header.charAt(pos) != ',') {
+                return null;
+            }
+            pos = skipWhitespace(header, pos + 1);
+        }
+    }
+
+    /* Lexical rules */
+
+    static int uriReference(final String value, final int pos) {
+        if (pos >= value.length() || value.charAt(pos) != '<') {
+            return NONE;
+        }
+        // UriReference is the longest run of URI characters that ends with a closing angle bracket
+        int end = NONE;
+        for (int i = pos + 1; i < value.length() && isUriChar(value.charAt(i)); i++) {
+            if (value.charAt(i) == '>' && i > pos + 1) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    static int authTokenEnd(final String value, final int pos) {
+        final int token = run(value, pos, TCHARS);
+        final int token68 = token68(value, pos);
+        int end = Math.max(token, token68);
+        if (token > pos && token < value.length() && value.charAt(token) == '=') {
+            end = Math.max(end, tokenOrQuotedString(value, token + 1));
+        }
+        return end;
+    }
+
+    static int authTokenType(final String value, final int pos, final int end) {
+        if (end <= pos) {
+            return NONE;
+        }
+        // Where several rules match the same input, the rule declared first in the grammar takes precedence
+        final int token = run(value, pos, TCHARS);
+        if (token > pos && token < end && value.charAt(token) == '=' && tokenOrQuotedString(value, token + 1) == end) {
+            return AUTH_PARAM;
+        }
+        if (token == end) {
+            return AUTH_SCHEME;
+        }
+        return TOKEN68;
+    }
+
+    static void authParam(final String value, final int pos, final int end, final Map<String, String> params) {
+        final int separator = run(value, pos, TCHARS);
+        params.put(value.substring(pos, separator), unquote(value, separator + 1, end));
+    }
+
+    static int token68(final String value, final int pos) {
+        int end = run(value, pos, TOKEN68_CHARS);
+        if (end == pos) {
+            return NONE;
+        }
+        while (end < value.length() && value.charAt(end) == '=') {
+            end++;
+        }
+        return end;
+    }
+
+    static int tokenOrQuotedString(final String value, final int pos) {
+        if (pos < value.length() && value.charAt(pos) == '"') {
+            return quotedString(value, pos);
+        }
+        final int end = run(value, pos, TCHARS);
+        return end == pos ? NONE : end;
+    }
+
+    static int quotedString(final String value, final int pos) {
+        int i = pos + 1;
+        while (i < value.length()) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            } else if (c == '\\') {
+                if (i + 1 == value.length() || !isQuotedChar(value.charAt(i + 1))) {
+                    return NONE;
+                }
+                i += 2;
+            } else if (isQuotedChar(c)) {
+                i++;
+            } else {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    static String unquote(final String value, final int start, final int end) {
+        if (value.charAt(start) == '"') {
+            return value.substring(start + 1, end - 1);
+        }
+        return value.substring(start, end);
+    }
+
+    static int run(final String value, final int pos, final boolean[] chars) {
+        int i = pos;
+        while (i < value.length() && value.charAt(i) < chars.length && chars[value.charAt(i)]) {
+            i++;
+        }
+        return i;
+    }
+
+    static int alphas(final String value, final int pos) {
+        int i = pos;
+        while (i < value.length() && isAlpha(value.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static int skipWhitespace(final String value, final int pos) {
+        int i = pos;
+        while (i < value.length() && (value.charAt(i) == ' ' || value.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    static boolean isAlpha(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    static boolean isUriChar(final char c) {
+        return (c >= '!' && c <= '~') || c >= '\u0080';
+    }
+
+    static boolean isQuotedChar(final char c) {
+        return c == '\t' || (c >= ' ' && c <= '~') || c >= '\u0080';
+    }
+
+    private SinglePassHeaderParser() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.Interceptor;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An interceptor that reports the time taken by each HTTP request.
+ *
+ * <p>The elapsed time covers the rest of the interceptor chain, including any authorization challenges,
+ * retries and time spent waiting for a request scheduler. For streamed response bodies, it ends when the
+ * response is available, before the body has been read.
+ */
+public final class TimingInterceptor implements Interceptor {
+
+    private final Listener listener;
+
+    private TimingInterceptor(final Listener listener) {
+        this.listener = Objects.requireNonNull(listener, "Listener may not be null!");
+    }
+
+    /**
+     * Create a timing interceptor.
+     *
+     * @param listener the listener that receives the timings
+     * @return the interceptor
+     */
+    public static TimingInterceptor of(final Listener listener) {
+        return new TimingInterceptor(listener);
+    }
+
+    @Override
+    public <T> CompletionStage<Response<T>> intercept(final Request request, final Chain<T> chain) {
+        final long start = System.nanoTime();
+        return chain.proceed(request).whenComplete((response, error) ->
+                listener.onComplete(request, response, error, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    /**
+     * A listener for request timings.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Receive the timing for a completed request.
+         *
+         * @param request the request
+         * @param response the response, or {@code null} if the request failed
+         * @param error the failure, or {@code null} if the request succeeded
+         * @param elapsed the time taken by the request
+         */
+        void onComplete(Request request, Response<?> response, Throwable error, Duration elapsed);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.auth.DPoP;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyPair;
+import java.util.Map;
+
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.lang.JoseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DPoPKeysTest {
+
+    static final URI TARGET = URI.create("https://storage.example/resource");
+
+    @Test
+    void testFromJwk() throws URISyntaxException {
+        final Map<String, KeyPair> keypairs = DPoPKeys.fromJwk(resource("/ec-key.json"));
+        assertEquals(1, keypairs.size());
+        assertTrue(keypairs.containsKey("ES256"));
+
+        final DPoP dpop1 = DPoP.of(keypairs);
+        final DPoP dpop2 = DPoP.of(keypairs);
+        assertEquals(dpop1.lookupThumbprint("ES256"), dpop2.lookupThumbprint("ES256"));
+        final String proof = dpop2.generateProof("ES256", TARGET, "GET");
+        assertDoesNotThrow(() -> DPoPManagerTest.verifyDpop(proof, TARGET, "GET"));
+    }
+
+    @Test
+    void testFromJwks(@TempDir final Path dir) throws JoseException, IOException {
+        final RsaJsonWebKey jwk = RsaJwkGenerator.generateJwk(2048);
+        final Path path = dir.resolve("jwks.json");
+        Files.write(path, ("{\"keys\":[" + jwk.toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE) + ","
+                    + jwk.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY) + "]}").getBytes(UTF_8));
+
+        final Map<String, KeyPair> keypairs = DPoPKeys.fromJwk(path);
+        assertEquals(1, keypairs.size());
+        assertEquals(jwk.getPublicKey(), keypairs.get("RS256").getPublic());
+    }
+
+    @Test
+    void testFromPkcs12() throws URISyntaxException {
+        final Map<String, KeyPair> keypairs = DPoPKeys.fromPkcs12(resource("/dpop-keys.p12"),
+                "changeit".toCharArray());
+        assertEquals(2, keypairs.size());
+
+        final DPoP dpop = DPoP.of(keypairs);
+        for (final String alg : new String[] {"ES384", "RS256"}) {
+            final String proof = dpop.generateProof(alg, TARGET, "PUT");
+            assertDoesNotThrow(() -> DPoPManagerTest.verifyDpop(proof, TARGET, "PUT"));
+        }
+        assertThrows(AuthenticationException.class, () ->
+                DPoPKeys.fromPkcs12(resource("/dpop-keys.p12"), "wrong".toCharArray()));
+    }
+
+    @Test
+    void testDuplicateAlgorithms(@TempDir final Path dir) throws JoseException, IOException, URISyntaxException {
+        final Path path = dir.resolve("jwks.json");
+        Files.write(path, ("{\"keys\":[" +
+                    RsaJwkGenerator.generateJwk(2048).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE) + "," +
+                    RsaJwkGenerator.generateJwk(2048).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE) +
+                    "]}").getBytes(UTF_8));
+        assertThrows(AuthenticationException.class, () -> DPoPKeys.fromJwk(path));
+
+        final Path keystore = resource("/dpop-keys-duplicate.p12");
+        assertThrows(AuthenticationException.class, () -> DPoPKeys.fromPkcs12(keystore, "changeit".toCharArray()));
+    }
+
+    @Test
+    void testMissingFile(@TempDir final Path dir) {
+        final Path path = dir.resolve("missing");
+        assertThrows(UncheckedIOException.class, () -> DPoPKeys.fromJwk(path));
+        assertThrows(UncheckedIOException.class, () -> DPoPKeys.fromPkcs12(path, new char[0]));
+    }
+
+    @Test
+    void testSharedDPoP() {
+        assertSame(DPoP.shared(), DPoP.shared());
+        assertTrue(DPoP.shared().algorithms().contains("ES256"));
+    }
+
+    static Path resource(final String name) throws URISyntaxException {
+        return Paths.get(DPoPKeysTest.class.getResource(name).toURI());
+    }
+}
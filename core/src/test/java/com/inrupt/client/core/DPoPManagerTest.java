@@ -20,24 +20,35 @@
  */
 package com.inrupt.client.core;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.jose4j.jwa.AlgorithmConstraints.ConstraintType.PERMIT;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.auth.DPoP;
 
 import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
 import org.jose4j.jwt.consumer.Validator;
+import org.jose4j.keys.EcKeyUtil;
+import org.jose4j.keys.EllipticCurves;
+import org.jose4j.keys.RsaKeyUtil;
 import org.jose4j.keys.resolvers.EmbeddedJwkVerificationKeyResolver;
+import org.jose4j.lang.JoseException;
 import org.junit.jupiter.api.Test;
 
 class DPoPManagerTest {
 
-    static final String[] algorithms = new String[] {"ES256", "RS256"};
+    static final String[] algorithms = new String[] {"ES256", "ES384", "RS256", "PS256", "EdDSA"};
 
     @Test
     void testDefaultDpop() {
@@ -55,6 +66,76 @@ class DPoPManagerTest {
         assertDoesNotThrow(() -> verifyDpop(proof, uri, method));
     }
 
+    @Test
+    void testGenerateProofAlgorithms() throws JoseException, NoSuchAlgorithmException {
+        final Map<String, KeyPair> keypairs = new HashMap<>();
+        keypairs.put("ES384", new EcKeyUtil().generateKeyPair(EllipticCurves.P384));
+        keypairs.put("RS256", new RsaKeyUtil().generateKeyPair(2048));
+        keypairs.put("PS256", new RsaKeyUtil().generateKeyPair(2048));
+        keypairs.put("EdDSA", KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+        final DPoP dpop = DPoP.of(keypairs);
+
+        final String method = "POST";
+        final URI uri = URI.create("https://storage.example/resource?q=value");
+        for (final String alg : keypairs.keySet()) {
+            final String proof = dpop.generateProof(alg, uri, method);
+            assertDoesNotThrow(() -> verifyDpop(proof, uri, method));
+            // Repeated use of a signer yields distinct, valid proofs
+            final String proof2 = dpop.generateProof(alg, uri, method);
+            assertNotEquals(proof, proof2);
+            assertDoesNotThrow(() -> verifyDpop(proof2, uri, method));
+        }
+        assertEquals(dpop.lookupThumbprint("RS256"), dpop.lookupThumbprint("rs256"));
+    }
+
+    @Test
+    void testSharedSigners() throws JoseException {
+        final KeyPair keypair = DefaultDpopService.defaultKeyPair(EllipticCurves.P256);
+        final ProofSigner signer = DefaultDpopService.getSigner("ES256", keypair);
+        assertSame(signer, DefaultDpopService.getSigner("es256", keypair));
+        assertNotSame(signer, DefaultDpopService.getSigner("ES256",
+                    DefaultDpopService.defaultKeyPair(EllipticCurves.P256)));
+        // Signers are matched by key material rather than by keypair instance
+        assertSame(signer, DefaultDpopService.getSigner("ES256",
+                    new KeyPair(keypair.getPublic(), keypair.getPrivate())));
+        assertNotSame(signer, DefaultDpopService.getSigner("ES384", keypair));
+    }
+
+    @Test
+    void testSignerPool() throws JoseException {
+        final ProofSigner signer = new ProofSigner("es256",
+                DefaultDpopService.defaultKeyPair(EllipticCurves.P256));
+        // A lower-case algorithm name still selects the JCA implementation, with a concatenated ECDSA signature
+        assertEquals(64, signer.signature(new byte[] {1, 2, 3}).length);
+        assertEquals(1, signer.getPoolSize());
+
+        final byte[] input = "input".getBytes(UTF_8);
+        IntStream.range(0, 64).parallel().forEach(i -> assertEquals(64, signer.signature(input).length));
+        assertTrue(signer.getPoolSize() >= 1);
+        assertTrue(signer.getPoolSize() <= ProofSigner.POOL_SIZE);
+    }
+
+    @Test
+    void testProofPayload() {
+        final String payload = ProofSigner.payload(URI.create("https://storage.example/a%22b"), "GET", "n\"1");
+        assertTrue(payload.startsWith("{\"htm\":\"GET\",\"htu\":\"https://storage.example/a%22b\",\"iat\":"));
+        assertTrue(payload.endsWith(",\"nonce\":\"n\\\"1\"}"));
+    }
+
+    @Test
+    void testProofNonce() throws InvalidJwtException {
+        final DPoP dpop = DPoP.of();
+        final URI uri = URI.create("https://storage.example/resource");
+        final URI other = URI.create("https://other.example/resource");
+        dpop.updateNonce(URI.create("HTTPS://Storage.Example/container/"), "nonce-1");
+
+        assertEquals("nonce-1", proofClaims(dpop.generateProof("ES256", uri, "GET")).getClaimValueAsString("nonce"));
+        assertFalse(proofClaims(dpop.generateProof("ES256", other, "GET")).hasClaim("nonce"));
+
+        dpop.updateNonce(uri, "nonce-2");
+        assertEquals("nonce-2", proofClaims(dpop.generateProof("ES256", uri, "GET")).getClaimValueAsString("nonce"));
+    }
+
     @Test
     void testInvalidAlgorithm() {
         final DPoP dpop = DPoP.of();
@@ -91,6 +172,14 @@ class DPoPManagerTest {
         }
     }
 
+    static JwtClaims proofClaims(final String proof) throws InvalidJwtException {
+        return new JwtConsumerBuilder()
+            .setSkipAllValidators()
+            .setVerificationKeyResolver(new EmbeddedJwkVerificationKeyResolver())
+            .build()
+            .processToClaims(proof);
+    }
+
     static Validator htuValidator(final String url) {
         return ctx -> {
             final JwtClaims claims = ctx.getJwtClaims();
@@ -24,23 +24,35 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.jose4j.jwx.HeaderParameterNames.TYPE;
+import static org.jose4j.lang.HashUtil.SHA_256;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.Client;
 import com.inrupt.client.ClientProvider;
+import com.inrupt.client.InruptClientException;
+import com.inrupt.client.Interceptor;
 import com.inrupt.client.Request;
 import com.inrupt.client.Response;
+import com.inrupt.client.auth.Authenticator;
+import com.inrupt.client.auth.Credential;
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.openid.OpenIdConfig;
 import com.inrupt.client.openid.OpenIdSession;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.security.KeyPair;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.IOUtils;
@@ -93,6 +105,132 @@ class DefaultClientNonRdfTest {
         assertTrue(response.body().contains("Julie C. Sparks and David Widger"));
     }
 
+    @Test
+    void testSendWithScheduler() {
+        final RequestScheduler scheduler = RequestScheduler.of(2, 1);
+        final Client scheduled = DefaultClient.newDefaultBuilder().scheduler(scheduler).build()
+            .session(Session.anonymous());
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/file"))
+                .GET()
+                .build();
+
+        final List<Response<String>> responses = new ArrayList<>();
+        for (final CompletableFuture<Response<String>> future : Arrays.asList(
+                    scheduled.send(request, Response.BodyHandlers.ofString()).toCompletableFuture(),
+                    scheduled.send(request, Response.BodyHandlers.ofString()).toCompletableFuture(),
+                    scheduled.send(request, Response.BodyHandlers.ofString()).toCompletableFuture())) {
+            responses.add(future.join());
+        }
+
+        responses.forEach(response -> assertEquals(200, response.statusCode()));
+        assertEquals(0, scheduler.getInFlight(request.uri()));
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    void testSendWithInterceptors() {
+        final List<String> calls = new ArrayList<>();
+        final List<Duration> timings = new ArrayList<>();
+        final Client intercepted = DefaultClient.newBuilder()
+            .interceptor(TimingInterceptor.of((req, res, err, elapsed) -> timings.add(elapsed)))
+            .interceptor(new Interceptor() {
+                @Override
+                public <T> CompletionStage<Response<T>> intercept(final Request req, final Chain<T> chain) {
+                    calls.add("first");
+                    return chain.proceed(req.withHeader("X-Trace", "trace"));
+                }
+            })
+            .interceptor(new Interceptor() {
+                @Override
+                public <T> CompletionStage<Response<T>> intercept(final Request req, final Chain<T> chain) {
+                    calls.add("second:" + req.headers().firstValue("X-Trace").orElse(null));
+                    return chain.proceed(req).thenApply(res -> {
+                        calls.add("response:" + res.statusCode());
+                        return res;
+                    });
+                }
+            })
+            .build()
+            .session(Session.anonymous());
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/file"))
+                .GET()
+                .build();
+
+        final Response<String> response = intercepted.send(request, Response.BodyHandlers.ofString())
+            .toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of("first", "second:trace", "response:200"), calls);
+        assertEquals(1, timings.size());
+        assertFalse(timings.get(0).isNegative());
+    }
+
+    @Test
+    void testSendWithResponseExecutor() {
+        final BoundedExecutor executor = BoundedExecutor.of(1);
+        final Client client = DefaultClient.newDefaultBuilder().responseExecutor(executor).build();
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/file"))
+                .GET()
+                .build();
+
+        final AtomicReference<String> handlerThread = new AtomicReference<>();
+        final String thread = client.send(request, info -> {
+            handlerThread.set(Thread.currentThread().getName());
+            return Response.BodyHandlers.ofString().apply(info);
+        })
+            .thenApply(response -> {
+                assertEquals(200, response.statusCode());
+                return Thread.currentThread().getName();
+            })
+            .toCompletableFuture().join();
+
+        // The body handler runs on the response executor, as do the dependent stages
+        assertTrue(handlerThread.get().startsWith("inrupt-compute-"));
+        assertTrue(thread.startsWith("inrupt-compute-"));
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(1, ((DefaultClient) client).getResponseCount());
+        assertEquals(0, ((DefaultClient) client).getResponseQueueDepth());
+        assertFalse(((DefaultClient) client).getResponseQueueTime().isNegative());
+        executor.shutdown();
+    }
+
+    @Test
+    void testSendWithShutdownExecutor() {
+        final BoundedExecutor executor = BoundedExecutor.of(1);
+        executor.shutdown();
+        final Client client = DefaultClient.newDefaultBuilder().responseExecutor(executor).build();
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/file"))
+                .GET()
+                .build();
+
+        final CompletionException err = assertThrows(CompletionException.class, () -> client
+                .send(request, Response.BodyHandlers.ofInputStream()).toCompletableFuture()
+                .orTimeout(5, SECONDS).join());
+        assertTrue(err.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testSendWithRetryAfter() {
+        final RequestScheduler scheduler = RequestScheduler.adaptive(4);
+        final Client scheduled = DefaultClient.newDefaultBuilder().scheduler(scheduler).build();
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/throttled"))
+                .GET()
+                .build();
+
+        final Response<String> response = scheduled.send(request, Response.BodyHandlers.ofString())
+            .toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals("Admitted", response.body());
+        // The origin's limit was reduced when it reported that it was overloaded
+        assertTrue(scheduler.getLimit(request.uri()) < 4);
+    }
+
     @Test
     void testOfStringPublisherOpenidSession() {
         final Map<String, Object> claims = new HashMap<>();
@@ -120,6 +258,149 @@ class DefaultClientNonRdfTest {
         assertEquals(201, response.statusCode());
     }
 
+    @Test
+    void testStreamedBodyAfterChallenge() {
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/postStringContainer/"))
+                .header("Content-Type", "text/plain")
+                .POST(Request.BodyPublishers.ofInputStream(
+                            new ByteArrayInputStream("Test String 1".getBytes(UTF_8))))
+                .build();
+
+        final Response<Void> response = client.session(openIdSession())
+            .send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+    }
+
+    @Test
+    void testLargeStreamedBodyAfterChallenge() {
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/postStringContainer/"))
+                .header("Content-Type", "text/plain")
+                .POST(Request.BodyPublishers.ofInputStream(new ByteArrayInputStream(new byte[2 * 1024 * 1024])))
+                .build();
+
+        final CompletionException err = assertThrows(CompletionException.class, () ->
+                client.session(openIdSession()).send(request, Response.BodyHandlers.discarding())
+                    .toCompletableFuture().join());
+        assertInstanceOf(InruptClientException.class, err.getCause());
+    }
+
+    @Test
+    void testRejectedCachedToken() {
+        final Session session = openIdSession();
+        final Credential rejected = new Credential("DPoP", URI.create(ISS), "rejected-token",
+                Instant.now().plusSeconds(300), URI.create(WEBID), null);
+        final AtomicReference<Credential> cached = new AtomicReference<>(rejected);
+        final AtomicInteger invalidated = new AtomicInteger();
+        final Session cachingSession = new Session() {
+            @Override
+            public String getId() {
+                return session.getId();
+            }
+
+            @Override
+            public Optional<URI> getPrincipal() {
+                return session.getPrincipal();
+            }
+
+            @Override
+            public Set<String> supportedSchemes() {
+                return session.supportedSchemes();
+            }
+
+            @Override
+            public Optional<Credential> getCredential(final URI name, final URI uri) {
+                return session.getCredential(name, uri);
+            }
+
+            @Override
+            public Optional<Credential> fromCache(final Request request) {
+                return Optional.ofNullable(cached.get());
+            }
+
+            @Override
+            public void invalidate(final Request request, final Credential credential) {
+                invalidated.incrementAndGet();
+                cached.compareAndSet(credential, null);
+            }
+
+            @Override
+            public Optional<String> generateProof(final String jkt, final Request request) {
+                return session.generateProof(jkt, request);
+            }
+
+            @Override
+            public Optional<String> selectThumbprint(final Collection<String> algorithms) {
+                return session.selectThumbprint(algorithms);
+            }
+
+            @Override
+            public void reset() {
+                session.reset();
+            }
+
+            @Override
+            public CompletionStage<Optional<Credential>> authenticate(final Authenticator authenticator,
+                    final Request request, final Set<String> algorithms) {
+                return session.authenticate(authenticator, request, algorithms);
+            }
+        };
+
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/postStringContainer/"))
+                .header("Content-Type", "text/plain")
+                .POST(Request.BodyPublishers.ofString("Test String 1"))
+                .build();
+
+        final Response<Void> response = client.session(cachingSession)
+            .send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+        assertEquals(1, invalidated.get());
+        assertNull(cached.get());
+    }
+
+    static Session openIdSession() {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("webid", WEBID);
+        claims.put("sub", SUB);
+        claims.put("iss", ISS);
+        claims.put("azp", AZP);
+        final PublicJsonWebKey jwk = getDpopKey("/rsa-key.json");
+        final OpenIdConfig config = new OpenIdConfig();
+        config.setProofKeyPairs(Collections.singletonMap("RS256",
+                    new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey())));
+        return OpenIdSession.ofIdToken(generateIdToken(claims), config);
+    }
+
+    @Test
+    void testDPoPNonce() {
+        final PublicJsonWebKey jwk = getDpopKey("/ec-key.json");
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("webid", WEBID);
+        claims.put("sub", SUB);
+        claims.put("iss", ISS);
+        claims.put("azp", AZP);
+        claims.put("cnf", Collections.singletonMap("jkt", jwk.calculateBase64urlEncodedThumbprint(SHA_256)));
+        final String token = generateIdToken(claims);
+
+        final OpenIdConfig config = new OpenIdConfig();
+        config.setProofKeyPairs(Collections.singletonMap("ES256",
+                    new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey())));
+
+        final Request request = Request.newBuilder(URI.create(baseUri.get() + "/dpopNonce")).build();
+        final Response<String> response = client.session(OpenIdSession.ofIdToken(token, config))
+            .send(request, Response.BodyHandlers.ofString())
+            .toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals("Nonce accepted", response.body());
+    }
+
     @Test
     void testOfStringPublisherUmaAnonSession() {
         final Request request = Request.newBuilder()
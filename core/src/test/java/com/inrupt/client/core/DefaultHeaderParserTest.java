@@ -0,0 +1,158 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Headers.Link;
+import com.inrupt.client.auth.Challenge;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class DefaultHeaderParserTest {
+
+    static final String LINK = "<https://example.test/type>; rel=\"type\", <https://example.test/.acl>; rel=\"acl\"";
+    static final String WWW_AUTHENTICATE = "UMA as_uri=\"https://as.example\", ticket=value, DPoP algs=\"ES256\"";
+    static final String WAC_ALLOW = "user=\"read write\",public=\"read\"";
+
+    @Test
+    void testCachedLinks() {
+        final DefaultHeaderParser parser = new DefaultHeaderParser();
+        final List<Link> first = parser.parseLink(Collections.singletonList(LINK));
+        final List<Link> second = parser.parseLink(Collections.singletonList(LINK));
+
+        assertEquals(first, second);
+        assertEquals(2, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> second.get(0).getParameters().put("rel", "meta"));
+
+        // The returned list belongs to the caller
+        second.clear();
+        assertEquals(first, parser.parseLink(Collections.singletonList(LINK)));
+    }
+
+    @Test
+    void testCachedChallenges() {
+        final DefaultHeaderParser parser = new DefaultHeaderParser();
+        final String header = "Bearer realm=\"storage\", DPoP algs=\"ES256\"";
+        final List<Challenge> first = parser.parseWwwAuthenticate(Collections.singletonList(header))
+            .getChallenges();
+        final List<Challenge> second = parser.parseWwwAuthenticate(Arrays.asList(header, "Bearer"))
+            .getChallenges();
+
+        assertEquals(2, first.size());
+        assertEquals(3, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertEquals(Challenge.of("Bearer"), second.get(2));
+    }
+
+    @Test
+    void testUncachedTicketChallenges() {
+        final DefaultHeaderParser parser = new DefaultHeaderParser();
+        final List<Challenge> first = parser.parseWwwAuthenticate(Collections.singletonList(WWW_AUTHENTICATE))
+            .getChallenges();
+        final List<Challenge> second = parser.parseWwwAuthenticate(Collections.singletonList(WWW_AUTHENTICATE))
+            .getChallenges();
+
+        assertEquals(first, second);
+        assertEquals("value", second.get(0).getParameter("ticket"));
+        assertNotSame(first.get(0), second.get(0));
+    }
+
+    @Test
+    void testCachedAccessParams() {
+        final DefaultHeaderParser parser = new DefaultHeaderParser();
+        final Map<String, Set<String>> first = parser.parseWacAllow(Collections.singletonList(WAC_ALLOW))
+            .getAccessParams();
+        final Map<String, Set<String>> merged = parser.parseWacAllow(Arrays.asList(WAC_ALLOW, "user=\"append\""))
+            .getAccessParams();
+
+        assertEquals(new HashSet<>(Arrays.asList("read", "write")), first.get("user"));
+        assertEquals(new HashSet<>(Arrays.asList("read", "write", "append")), merged.get("user"));
+        assertEquals(first, parser.parseWacAllow(Collections.singletonList(WAC_ALLOW)).getAccessParams());
+    }
+
+    @Test
+    void testCacheBounds() {
+        final HeaderValueCache<String> cache = new HeaderValueCache<>(2, 8);
+        assertEquals("A", cache.get("a", String::toUpperCase));
+        assertEquals("B", cache.get("b", String::toUpperCase));
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a", value -> "unused"));
+
+        assertEquals("C", cache.get("c", String::toUpperCase));
+        assertTrue(cache.size() <= 2);
+
+        assertEquals("LONG VALUE", cache.get("long value", String::toUpperCase));
+        assertEquals("unused", cache.get("long value", value -> "unused"));
+    }
+
+    @Test
+    void testCacheKeepsFrequentValues() {
+        final HeaderValueCache<String> cache = new HeaderValueCache<>(4, 64, value -> !value.startsWith("SKIP"));
+        assertEquals("HOT", cache.get("hot", String::toUpperCase));
+        for (int i = 0; i < 100; i++) {
+            cache.get("unique-" + i, String::toUpperCase);
+            // A value that is read again is carried into each new generation
+            assertEquals("HOT", cache.get("hot", value -> "unused"));
+        }
+        assertTrue(cache.size() <= 4);
+
+        assertEquals("SKIP", cache.get("skip", String::toUpperCase));
+        assertEquals("unused", cache.get("skip", value -> "unused"));
+    }
+
+    @Test
+    void testHeadersViews() {
+        final Map<String, List<String>> values = new HashMap<>();
+        values.put("link", Collections.singletonList(LINK));
+        values.put("www-authenticate", Collections.singletonList(WWW_AUTHENTICATE));
+        values.put("wac-allow", Collections.singletonList(WAC_ALLOW));
+        final Headers headers = Headers.of(values);
+
+        assertSame(headers.links(), headers.links());
+        assertEquals(Link.of(URI.create("https://example.test/type"), "type"), headers.links().get(0));
+        assertSame(headers.wwwAuthenticate(), headers.wwwAuthenticate());
+        assertEquals("UMA", headers.wwwAuthenticate().getChallenges().get(0).getScheme());
+        assertSame(headers.wacAllow(), headers.wacAllow());
+        assertEquals(Collections.singleton("read"), headers.wacAllow().getAccessParams().get("public"));
+    }
+
+    @Test
+    void testEmptyHeadersViews() {
+        final Headers headers = Headers.empty();
+        assertTrue(headers.links().isEmpty());
+        assertTrue(headers.wwwAuthenticate().getChallenges().isEmpty());
+        assertTrue(headers.wacAllow().getAccessParams().isEmpty());
+    }
+}
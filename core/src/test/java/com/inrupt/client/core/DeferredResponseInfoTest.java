@@ -0,0 +1,70 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Response;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class DeferredResponseInfoTest {
+
+    static final URI RESOURCE = URI.create("https://storage.example/resource");
+
+    @Test
+    void testDrainSmallBody() {
+        final ByteArrayInputStream input = new ByteArrayInputStream(new byte[1024]);
+        final DeferredResponseInfo info = new DeferredResponseInfo(Headers.empty(), RESOURCE, 401, input);
+
+        final Response<Void> response = info.handle(Response.BodyHandlers.discarding());
+        assertEquals(401, response.statusCode());
+        // The unread body was consumed, so that the connection can be reused
+        assertEquals(0, input.available());
+    }
+
+    @Test
+    void testAbortLargeBody() {
+        final int length = (int) DeferredResponseInfo.DRAIN_LIMIT + 1;
+        final ByteArrayInputStream input = new ByteArrayInputStream(new byte[length]);
+        final Headers headers = Headers.of(Map.of("Content-Length", List.of(Integer.toString(length))));
+        final DeferredResponseInfo info = new DeferredResponseInfo(headers, RESOURCE, 200, input);
+
+        info.handle(Response.BodyHandlers.discarding());
+        assertEquals(length, input.available());
+    }
+
+    @Test
+    void testStreamedBody() {
+        final ByteArrayInputStream input = new ByteArrayInputStream(new byte[16]);
+        final DeferredResponseInfo info = new DeferredResponseInfo(Headers.empty(), RESOURCE, 200, input);
+
+        // The handler owns a streamed body
+        assertSame(input, info.handle(Response.BodyHandlers.ofInputStream()).body());
+        assertEquals(16, input.available());
+    }
+}
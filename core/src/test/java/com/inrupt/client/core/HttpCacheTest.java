@@ -0,0 +1,301 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Client;
+import com.inrupt.client.ClientCache;
+import com.inrupt.client.Headers;
+import com.inrupt.client.Interceptor;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+import com.inrupt.client.spi.HttpService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpCacheTest {
+
+    static final URI RESOURCE = URI.create("https://storage.example/settings");
+    static final String ETAG = "\"v1\"";
+
+    final List<Request> requests = new ArrayList<>();
+    final Map<String, List<String>> responseHeaders = new HashMap<>();
+    String content = "settings";
+    boolean buffered;
+    HttpCache cache;
+    Client client;
+
+    @BeforeEach
+    void setup() {
+        final Map<List<Object>, HttpCache.Entry> storage = new ConcurrentHashMap<>();
+        cache = new HttpCache(new ClientCache<>() {
+            @Override
+            public HttpCache.Entry get(final List<Object> key) {
+                return storage.get(key);
+            }
+
+            @Override
+            public void put(final List<Object> key, final HttpCache.Entry value) {
+                storage.put(key, value);
+            }
+
+            @Override
+            public void invalidate(final List<Object> key) {
+                storage.remove(key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                storage.clear();
+            }
+        });
+        client = DefaultClient.newBuilder().withInstance(new HttpService() {
+            @Override
+            public <T> CompletionStage<Response<T>> send(final Request request,
+                    final Response.BodyHandler<T> handler) {
+                requests.add(request);
+                final boolean unchanged = request.headers().firstValue("If-None-Match")
+                    .filter(ETAG::equals).isPresent();
+                return CompletableFuture.completedFuture(respond(unchanged ? 304 : 200,
+                            unchanged ? "" : content, handler));
+            }
+        }).interceptor(cache).build();
+        responseHeaders.put("ETag", List.of(ETAG));
+    }
+
+    <T> Response<T> respond(final int status, final String body, final Response.BodyHandler<T> handler) {
+        final Headers headers = Headers.of(responseHeaders);
+        final T value = handler.apply(new Response.ResponseInfo() {
+            @Override
+            public Headers headers() {
+                return headers;
+            }
+
+            @Override
+            public URI uri() {
+                return RESOURCE;
+            }
+
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public ByteBuffer body() {
+                buffered = true;
+                return ByteBuffer.wrap(body.getBytes(UTF_8));
+            }
+
+            @Override
+            public InputStream bodyAsStream() {
+                return new ByteArrayInputStream(body.getBytes(UTF_8));
+            }
+        });
+        return new Response<T>() {
+            @Override
+            public T body() {
+                return value;
+            }
+
+            @Override
+            public Headers headers() {
+                return headers;
+            }
+
+            @Override
+            public URI uri() {
+                return RESOURCE;
+            }
+
+            @Override
+            public int statusCode() {
+                return status;
+            }
+        };
+    }
+
+    Response<String> get(final String accept) {
+        return client.send(Request.newBuilder(RESOURCE).header("Accept", accept).GET().build(),
+                Response.BodyHandlers.ofString()).toCompletableFuture().join();
+    }
+
+    @Test
+    void testRevalidation() {
+        assertEquals("settings", get("text/turtle").body());
+        final Response<String> response = get("text/turtle");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("settings", response.body());
+        assertEquals(2, requests.size());
+        assertEquals(ETAG, requests.get(1).headers().firstValue("If-None-Match").orElse(null));
+        assertEquals(1, cache.getRevalidationCount());
+        assertEquals(1, cache.getMissCount());
+
+        // A different Accept header is a different representation
+        get("application/ld+json");
+        assertFalse(requests.get(2).headers().firstValue("If-None-Match").isPresent());
+    }
+
+    @Test
+    void testNotModifiedHandledOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Response.BodyHandler<String> handler = info -> {
+            calls.incrementAndGet();
+            assertEquals(200, info.statusCode());
+            return Response.BodyHandlers.ofString().apply(info);
+        };
+        final Request request = Request.newBuilder(RESOURCE).header("Accept", "text/turtle").GET().build();
+        client.send(request, handler).toCompletableFuture().join();
+        calls.set(0);
+
+        final Response<String> response = client.send(request, handler).toCompletableFuture().join();
+        assertEquals("settings", response.body());
+        assertEquals(1, cache.getRevalidationCount());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFreshResponse() throws IOException {
+        responseHeaders.put("Cache-Control", List.of("private, max-age=60"));
+        get("text/turtle");
+        try (final InputStream body = client.send(Request.newBuilder(RESOURCE).header("Accept", "text/turtle")
+                    .GET().build(), Response.BodyHandlers.ofInputStream()).toCompletableFuture().join().body()) {
+            assertEquals("settings", new String(body.readAllBytes(), UTF_8));
+        }
+
+        assertEquals(1, requests.size());
+        assertEquals(1, cache.getHitCount());
+
+        // A request directive forces revalidation
+        client.send(Request.newBuilder(RESOURCE).header("Accept", "text/turtle").header("Cache-Control", "no-cache")
+                .GET().build(), Response.BodyHandlers.ofString()).toCompletableFuture().join();
+        assertEquals(2, requests.size());
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    void testChainWithoutSession() {
+        final Interceptor.Chain<String> chain = new Interceptor.Chain<>() {
+            @Override
+            public Response.BodyHandler<String> bodyHandler() {
+                return Response.BodyHandlers.ofString();
+            }
+
+            @Override
+            public CompletionStage<Response<String>> proceed(final Request request) {
+                return proceed(request, bodyHandler());
+            }
+
+            @Override
+            public CompletionStage<Response<String>> proceed(final Request request,
+                    final Response.BodyHandler<String> handler) {
+                requests.add(request);
+                return CompletableFuture.completedFuture(respond(200, "settings", handler));
+            }
+        };
+
+        // Responses cannot be attributed to a principal, so they are not stored
+        final Request request = Request.newBuilder(RESOURCE).GET().build();
+        cache.intercept(request, chain).toCompletableFuture().join();
+        cache.intercept(request, chain).toCompletableFuture().join();
+        assertEquals(2, requests.size());
+        assertFalse(requests.get(1).headers().firstValue("If-None-Match").isPresent());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void testLargeStreamedBody() throws IOException {
+        content = "x".repeat(HttpCache.MAX_ENTRY_SIZE + 10);
+        for (int i = 0; i < 2; i++) {
+            try (final InputStream body = client.send(Request.newBuilder(RESOURCE).GET().build(),
+                        Response.BodyHandlers.ofInputStream()).toCompletableFuture().join().body()) {
+                assertEquals(content.length(), body.readAllBytes().length);
+            }
+        }
+
+        // The body is passed through as a stream, without being buffered or stored
+        assertFalse(buffered);
+        assertEquals(2, requests.size());
+        assertFalse(requests.get(1).headers().firstValue("If-None-Match").isPresent());
+    }
+
+    @Test
+    void testNoStore() {
+        responseHeaders.put("Cache-Control", List.of("no-store"));
+        get("text/turtle");
+        get("text/turtle");
+
+        assertEquals(2, requests.size());
+        assertFalse(requests.get(1).headers().firstValue("If-None-Match").isPresent());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testWriteInvalidates() {
+        get("text/turtle");
+        client.send(Request.newBuilder(RESOURCE).PUT(Request.BodyPublishers.ofString("updated")).build(),
+                Response.BodyHandlers.discarding()).toCompletableFuture().join();
+        get("text/turtle");
+
+        assertEquals(3, requests.size());
+        assertFalse(requests.get(2).headers().firstValue("If-None-Match").isPresent());
+    }
+
+    @Test
+    void testCachedBodyIsCopied() {
+        final Request request = Request.newBuilder(RESOURCE).GET().build();
+        final byte[] first = client.send(request, Response.BodyHandlers.ofByteArray()).toCompletableFuture().join()
+            .body();
+        first[0] = 'X';
+
+        final byte[] second = client.send(request, Response.BodyHandlers.ofByteArray()).toCompletableFuture()
+            .join().body();
+        assertEquals("settings", new String(second, UTF_8));
+    }
+
+    @Test
+    void testCacheControl() {
+        final HttpCache.CacheControl control = HttpCache.CacheControl.of(Headers.of(Map.of("Cache-Control",
+                    List.of("no-cache, max-age=\"30\"", "no-store"))));
+        assertTrue(control.noCache);
+        assertTrue(control.noStore);
+        assertEquals(30, control.maxAge);
+        assertEquals(-1, HttpCache.CacheControl.of(Headers.empty()).maxAge);
+    }
+}
@@ -21,6 +21,7 @@
 package com.inrupt.client.core;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -98,6 +99,49 @@ class MockHttpService {
                         .withHeader("WWW-Authenticate", "Bearer, DPoP algs=\"ES256 PS256\"")));
 
 
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .inScenario("DPoP Nonce")
+                    .whenScenarioStateIs(STARTED)
+                    .atPriority(1)
+                    .withHeader("Authorization", containing("DPoP "))
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("DPoP-Nonce", "eyJ7S_zG.eyJH0-Z.HX4w-7v")
+                        .withHeader("WWW-Authenticate", "DPoP error=\"use_dpop_nonce\", algs=\"ES256\""))
+                    .willSetStateTo("Nonce Issued"));
+
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .inScenario("DPoP Nonce")
+                    .whenScenarioStateIs("Nonce Issued")
+                    .atPriority(1)
+                    .withHeader("Authorization", containing("DPoP "))
+                    .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, TEXT_PLAIN)
+                        .withBody("Nonce accepted")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .atPriority(2)
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("WWW-Authenticate", "DPoP algs=\"ES256\"")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/throttled"))
+                    .inScenario("Throttled")
+                    .whenScenarioStateIs(STARTED)
+                    .willReturn(aResponse()
+                        .withStatus(429)
+                        .withHeader("Retry-After", "0"))
+                    .willSetStateTo("Admitted"));
+
+        wireMockServer.stubFor(get(urlEqualTo("/throttled"))
+                    .inScenario("Throttled")
+                    .whenScenarioStateIs("Admitted")
+                    .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, TEXT_PLAIN)
+                        .withBody("Admitted")));
+
         wireMockServer.stubFor(post(urlEqualTo("/postOneTriple"))
                     .withHeader("User-Agent", equalTo(USER_AGENT))
                     .willReturn(aResponse()
@@ -0,0 +1,301 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class RequestSchedulerTest {
+
+    static final URI STORAGE = URI.create("https://storage.example/resource");
+    static final URI OTHER = URI.create("https://other.example/resource");
+
+    final List<String> started = new ArrayList<>();
+    final List<CompletableFuture<String>> pending = new ArrayList<>();
+
+    CompletionStage<String> submit(final RequestScheduler scheduler, final URI uri, final String session,
+            final String name) {
+        return scheduler.submit(uri, session, () -> {
+            started.add(name);
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+    }
+
+    @Test
+    void testOriginLimit() {
+        final RequestScheduler scheduler = RequestScheduler.of(2);
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(submit(scheduler, STORAGE, "session", "request" + i));
+        }
+        submit(scheduler, OTHER, "session", "other");
+
+        assertEquals(List.of("request0", "request1", "other"), started);
+        assertEquals(2, scheduler.getInFlight(STORAGE));
+        assertEquals(3, scheduler.getQueueDepth(STORAGE));
+        assertEquals(1, scheduler.getInFlight(OTHER));
+        assertEquals(3, scheduler.getQueueDepth());
+
+        pending.get(1).complete("response1");
+        assertEquals("response1", results.get(1).toCompletableFuture().join());
+        assertEquals("request2", started.get(3));
+        assertEquals(2, scheduler.getQueueDepth(STORAGE));
+
+        pending.get(0).completeExceptionally(new IllegalStateException("failure"));
+        final CompletionException err = assertThrows(CompletionException.class,
+                results.get(0).toCompletableFuture()::join);
+        assertInstanceOf(IllegalStateException.class, err.getCause());
+        assertEquals("request3", started.get(4));
+
+        for (int i = 2; i < pending.size(); i++) {
+            pending.get(i).complete("response");
+        }
+        pending.get(pending.size() - 1).complete("response");
+        assertEquals(0, scheduler.getInFlight(STORAGE));
+        assertEquals(0, scheduler.getInFlight(OTHER));
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(6, started.size());
+    }
+
+    @Test
+    void testSessionFairness() {
+        final RequestScheduler scheduler = RequestScheduler.of(1);
+        for (int i = 0; i < 3; i++) {
+            submit(scheduler, STORAGE, "noisy", "noisy" + i);
+        }
+        submit(scheduler, STORAGE, "quiet", "quiet0");
+
+        for (int i = 0; i < 4; i++) {
+            pending.get(i).complete("response");
+        }
+        // The quiet session takes its turn ahead of the noisy session's queued requests
+        assertEquals(List.of("noisy0", "quiet0", "noisy1", "noisy2"), started);
+    }
+
+    @Test
+    void testSessionLimit() {
+        final RequestScheduler scheduler = RequestScheduler.of(4, 1);
+        submit(scheduler, STORAGE, "first", "first0");
+        submit(scheduler, STORAGE, "first", "first1");
+        submit(scheduler, STORAGE, "second", "second0");
+
+        assertEquals(List.of("first0", "second0"), started);
+        assertEquals(2, scheduler.getInFlight(STORAGE));
+        assertEquals(1, scheduler.getQueueDepth(STORAGE));
+
+        pending.get(0).complete("response");
+        assertEquals(List.of("first0", "second0", "first1"), started);
+    }
+
+    @Test
+    void testSynchronousRequests() {
+        final RequestScheduler scheduler = RequestScheduler.of(1);
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        results.add(scheduler.submit(STORAGE, "session", () -> first));
+        for (int i = 0; i < 10_000; i++) {
+            results.add(scheduler.submit(STORAGE, "session", () -> CompletableFuture.completedFuture("response")));
+        }
+        results.add(scheduler.submit(STORAGE, "session", () -> {
+            throw new IllegalArgumentException("failure");
+        }));
+
+        assertEquals(results.size() - 1, scheduler.getQueueDepth(STORAGE));
+        first.complete("response");
+
+        results.subList(0, results.size() - 1)
+            .forEach(result -> assertEquals("response", result.toCompletableFuture().join()));
+        assertThrows(CompletionException.class, results.get(results.size() - 1).toCompletableFuture()::join);
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> RequestScheduler.of(0));
+        assertThrows(IllegalArgumentException.class, () -> RequestScheduler.of(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> RequestScheduler.adaptive(0));
+        assertEquals(2, RequestScheduler.of(2).getMaxRequestsPerSession());
+        assertFalse(RequestScheduler.of(2).isAdaptive());
+        assertTrue(RequestScheduler.adaptive(2).isAdaptive());
+    }
+
+    @Test
+    void testRetry() {
+        final RequestScheduler scheduler = RequestScheduler.of(1);
+        final Function<String, RequestScheduler.Throttle> feedback = response -> "busy".equals(response)
+            ? new RequestScheduler.Throttle(Duration.ZERO, true) : null;
+        final CompletionStage<String> result = scheduler.submit(STORAGE, "session", () -> {
+            started.add("request");
+            return CompletableFuture.completedFuture(started.size() < 3 ? "busy" : "response");
+        }, feedback);
+
+        assertEquals("response", result.toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(3, started.size());
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    void testRetryLimit() {
+        final RequestScheduler scheduler = RequestScheduler.of(1);
+        final CompletionStage<String> result = scheduler.submit(STORAGE, "session", () -> {
+            started.add("request");
+            return CompletableFuture.completedFuture("busy");
+        }, response -> new RequestScheduler.Throttle(Duration.ZERO, true));
+
+        assertEquals("busy", result.toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(RequestScheduler.MAX_RETRIES + 1, started.size());
+    }
+
+    @Test
+    void testPause() {
+        final RequestScheduler scheduler = RequestScheduler.of(2);
+        final CompletionStage<String> first = scheduler.submit(STORAGE, "session",
+                () -> CompletableFuture.completedFuture("busy"),
+                response -> new RequestScheduler.Throttle(Duration.ofMillis(100), false));
+        assertEquals("busy", first.toCompletableFuture().join());
+
+        // Requests to the paused origin wait in the queue, while other origins are unaffected
+        final CompletionStage<String> second = submit(scheduler, STORAGE, "session", "second");
+        submit(scheduler, OTHER, "session", "other");
+        assertEquals(List.of("other"), started);
+        assertEquals(1, scheduler.getQueueDepth(STORAGE));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> scheduler.getInFlight(STORAGE) == 1);
+        assertEquals(List.of("other", "second"), started);
+        pending.forEach(future -> future.complete("response"));
+        assertEquals("response", second.toCompletableFuture().join());
+    }
+
+    @Test
+    void testDistantRetryAfter() {
+        final RequestScheduler scheduler = RequestScheduler.of(2);
+        final Duration delay = RequestScheduler.retryAfter("99999999999", Instant.now()).orElseThrow();
+        final CompletionStage<String> result = scheduler.submit(STORAGE, "session",
+                () -> CompletableFuture.completedFuture("busy"),
+                response -> new RequestScheduler.Throttle(delay, false));
+        assertEquals("busy", result.toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join());
+
+        // The pause is capped, so later requests to the origin wait in the queue rather than fail
+        submit(scheduler, STORAGE, "session", "second");
+        assertEquals(1, scheduler.getQueueDepth(STORAGE));
+    }
+
+    @Test
+    void testFeedbackError() {
+        final RequestScheduler scheduler = RequestScheduler.of(1);
+        final CompletionStage<String> result = scheduler.submit(STORAGE, "session",
+                () -> CompletableFuture.completedFuture("response"), response -> {
+                    throw new IllegalStateException("feedback");
+                });
+        final CompletionException err = assertThrows(CompletionException.class,
+                result.toCompletableFuture().orTimeout(5, TimeUnit.SECONDS)::join);
+        assertTrue(err.getCause() instanceof IllegalStateException);
+        assertEquals(0, scheduler.getInFlight(STORAGE));
+    }
+
+    @Test
+    void testAdaptiveLimit() {
+        final long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        final RequestScheduler.Origin origin = new RequestScheduler.Origin(8);
+        long now = origin.decreasedAt;
+
+        now += 10 * ms;
+        origin.update(10 * ms, true, now, 8);
+        assertEquals(4, origin.limit());
+
+        // Further overload signals within the same round trip do not compound
+        origin.update(10 * ms, true, now + ms, 8);
+        assertEquals(4, origin.limit());
+
+        // The limit grows by about one for each round trip of fast responses
+        for (int i = 0; i < 5; i++) {
+            now += 10 * ms;
+            origin.update(10 * ms, false, now, 8);
+        }
+        assertEquals(5, origin.limit());
+
+        // Slow responses reduce the limit
+        now += 50 * ms;
+        origin.update(50 * ms, false, now, 8);
+        assertEquals(4, origin.limit());
+        assertFalse(origin.isSteady(8, now));
+
+        for (int i = 0; i < 100; i++) {
+            now += 10 * ms;
+            origin.update(10 * ms, false, now, 8);
+        }
+        assertEquals(8, origin.limit());
+        assertTrue(origin.isSteady(8, now));
+    }
+
+    @Test
+    void testLatencyToHeaders() {
+        final long started = System.nanoTime();
+        assertEquals(5, RequestScheduler.latency(started, started + 5));
+        // Without a report from the request, the response time runs until the request completes
+        assertTrue(RequestScheduler.latency(started - 100, started - 100) >= 100);
+    }
+
+    @Test
+    void testIdleOriginSwept() {
+        final RequestScheduler scheduler = RequestScheduler.adaptive(4);
+        final CompletionStage<String> result = scheduler.submit(STORAGE, "session",
+                () -> CompletableFuture.completedFuture("busy"),
+                response -> new RequestScheduler.Throttle(null, false));
+        assertEquals("busy", result.toCompletableFuture().join());
+        assertEquals(2, scheduler.getLimit(STORAGE));
+
+        // A recently throttled origin keeps its limit, until it has been idle for long enough
+        final long now = System.nanoTime();
+        scheduler.sweep(now);
+        assertEquals(2, scheduler.getLimit(STORAGE));
+        scheduler.sweep(now + RequestScheduler.IDLE_TIMEOUT.toNanos());
+        assertEquals(4, scheduler.getLimit(STORAGE));
+    }
+
+    @Test
+    void testRetryAfter() {
+        final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        assertEquals(Optional.of(Duration.ofSeconds(120)), RequestScheduler.retryAfter("120", now));
+        assertEquals(Optional.of(Duration.ofSeconds(30)),
+                RequestScheduler.retryAfter("Mon, 01 Jan 2024 00:00:30 GMT", now));
+        assertEquals(Optional.of(Duration.ZERO), RequestScheduler.retryAfter("Sun, 31 Dec 2023 23:00:00 GMT", now));
+        assertEquals(Optional.empty(), RequestScheduler.retryAfter("soon", now));
+        assertEquals(Optional.empty(), RequestScheduler.retryAfter("-1", now));
+        assertEquals(Optional.empty(), RequestScheduler.retryAfter("99999999999999999999", now));
+    }
+}
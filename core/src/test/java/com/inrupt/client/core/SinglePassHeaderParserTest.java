@@ -0,0 +1,184 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.core.DefaultHeaderParser.LinkHeaderParser;
+import com.inrupt.client.core.DefaultHeaderParser.WacAllowHeaderParser;
+import com.inrupt.client.core.DefaultHeaderParser.WwwAuthenticateHeaderParser;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SinglePassHeaderParserTest {
+
+    static final int SAMPLES = 5000;
+
+    static final String[] LINK_FRAGMENTS = {
+        "<https://example.test/resource>", "<../container/>", "<https://example.test/%E8%8B%97>", "<a>b>",
+        "<>", "<https://example.test/a b>", ";", " ", "\t", ",", "rel=type", "rel=\"acl\"",
+        "title=\"a \\\"quoted\\\" title\"", "anchor=\"#it\"", "=", "\"", "rel", "<", ">", "é"
+    };
+
+    static final String[] WWW_AUTHENTICATE_FRAGMENTS = {
+        "UMA", "Bearer", "DPoP", "Basic", " ", "\t", ",", "as_uri=\"https://example.test\"", "ticket=value",
+        "algs=\"ES256 RS256\"", "abc/def==", "abcdef==", "realm=basic", "error=\"a \\\"b\\\"\"", "=", "\"",
+        "a/b=c", "!#$", "é"
+    };
+
+    static final String[] WAC_ALLOW_FRAGMENTS = {
+        "user", "public", "=", "\"", "read", "write", "append", "control", " ", "\t", ",", "user=\"read write\"",
+        "public=\"read\"", "user=\"\"", "WAC-Allow:", "1"
+    };
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLink(final String header) {
+        final LinkHeaderParser reference = new LinkHeaderParser();
+        assertEquals(reference.parse(header), SinglePassHeaderParser.parseLink(header));
+    }
+
+    static Stream<String> parseLink() {
+        return Stream.of(
+                "<https://example.com/%E8%8B%97%E6%9D%A1>; rel=\"preconnect\"",
+                "<https://example.com/%E8%8B%97%E6%9D%A1>; rel=\"param1\" ;type=\"param2\"",
+                "<https://one.example.com>, <https://two.example.com>, <https://three.example.com>",
+                "<https://one.example.com>; rel=\"preconnect\" ,<https://two.example.com>; rel=\"meta\"",
+                "<http://www.w3.org/ns/ldp#BasicContainer>; rel=\"type\", <./.acl>; rel=\"acl\"",
+                "<../../team/>",
+                "<https://example.test/>; title=\"a \\\"quoted\\\" title\"; rel=next",
+                "<https://example.test/>; rel=first; rel=second");
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseWwwAuthenticate(final String header) {
+        final WwwAuthenticateHeaderParser reference = new WwwAuthenticateHeaderParser();
+        assertEquals(reference.parse(header), SinglePassHeaderParser.parseWwwAuthenticate(header));
+    }
+
+    static Stream<String> parseWwwAuthenticate() {
+        return Stream.of(
+                "UMA as_uri=\"https://example.test\", ticket=value, Bearer, DPoP algs=\"ES256 RS256\"",
+                "Bearer, UMA as_uri=\"https://example.test\", GNAP ticket=1234567890",
+                "Basic abcdef== realm=basic key=\"a value\"",
+                "Basic realm=\"protected\"",
+                "DPoP error=\"use_dpop_nonce\", error_description=\"Resource server requires nonce\"",
+                "Bearer realm=\"example\",error=\"invalid_token\"");
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseWacAllow(final String header) {
+        final WacAllowHeaderParser reference = new WacAllowHeaderParser();
+        assertEquals(reference.parse(header), SinglePassHeaderParser.parseWacAllow(header));
+    }
+
+    static Stream<String> parseWacAllow() {
+        return Stream.of(
+                "user=\"read\"",
+                "user=\"read write append control\",public=\"read\"",
+                "user=\"  read   write \" , public=\"\"",
+                "user=\"\"",
+                "user=\"read\",\tpublic=\"read write\"");
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void fallback(final String header) {
+        assertNull(SinglePassHeaderParser.parseLink(header));
+        assertNull(SinglePassHeaderParser.parseWwwAuthenticate(header));
+        assertNull(SinglePassHeaderParser.parseWacAllow(header));
+    }
+
+    static Stream<String> fallback() {
+        return Stream.of(
+                "",
+                " ",
+                "WAC-Allow: user=\"read\"",
+                "user =\"read\"",
+                "<https://example.test>,, <https://example.test>",
+                "In=Valid realm=\"basic\"",
+                "\"unterminated");
+    }
+
+    @Test
+    void differentialLink() {
+        final LinkHeaderParser reference = new LinkHeaderParser();
+        int handled = 0;
+        final Random random = new Random(14);
+        for (int i = 0; i < SAMPLES; i++) {
+            final String header = sample(random, LINK_FRAGMENTS);
+            final Object parsed = SinglePassHeaderParser.parseLink(header);
+            if (parsed != null) {
+                assertEquals(reference.parse(header), parsed, header);
+                handled++;
+            }
+        }
+        assertTrue(handled > 0);
+    }
+
+    @Test
+    void differentialWwwAuthenticate() {
+        final WwwAuthenticateHeaderParser reference = new WwwAuthenticateHeaderParser();
+        int handled = 0;
+        final Random random = new Random(14);
+        for (int i = 0; i < SAMPLES; i++) {
+            final String header = sample(random, WWW_AUTHENTICATE_FRAGMENTS);
+            final Object parsed = SinglePassHeaderParser.parseWwwAuthenticate(header);
+            if (parsed != null) {
+                assertEquals(reference.parse(header), parsed, header);
+                handled++;
+            }
+        }
+        assertTrue(handled > 0);
+    }
+
+    @Test
+    void differentialWacAllow() {
+        final WacAllowHeaderParser reference = new WacAllowHeaderParser();
+        int handled = 0;
+        final Random random = new Random(14);
+        for (int i = 0; i < SAMPLES; i++) {
+            final String header = sample(random, WAC_ALLOW_FRAGMENTS);
+            final Object parsed = SinglePassHeaderParser.parseWacAllow(header);
+            if (parsed != null) {
+                assertEquals(reference.parse(header), parsed, header);
+                handled++;
+            }
+        }
+        assertTrue(handled > 0);
+    }
+
+    static String sample(final Random random, final String[] fragments) {
+        final StringBuilder builder = new StringBuilder();
+        final int count = 1 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            builder.append(fragments[random.nextInt(fragments.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -23,23 +23,35 @@ package com.inrupt.client.httpclient;
 import com.inrupt.client.Headers;
 import com.inrupt.client.Response.ResponseInfo;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpResponse;
 import java.nio.ByteBuffer;
 
 class HttpClientResponseInfo implements ResponseInfo {
 
-    private final HttpResponse<byte[]> response;
-    private final ByteBuffer responseBody;
+    static final long DRAIN_LIMIT = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
 
-    public HttpClientResponseInfo(final HttpResponse<byte[]> response, final ByteBuffer body) {
+    private final HttpResponse<InputStream> response;
+    private Headers responseHeaders;
+    private ByteBuffer responseBody;
+    private boolean streamed;
+
+    public HttpClientResponseInfo(final HttpResponse<InputStream> response) {
         this.response = response;
-        this.responseBody = body;
     }
 
     @Override
     public Headers headers() {
-        return Headers.of(response.headers().map());
+        if (responseHeaders == null) {
+            // The HttpHeaders map is immutable, with case-insensitive keys
+            responseHeaders = Headers.wrap(response.headers().map());
+        }
+        return responseHeaders;
     }
 
     @Override
@@ -54,6 +66,59 @@ class HttpClientResponseInfo implements ResponseInfo {
 
     @Override
     public ByteBuffer body() {
+        if (responseBody == null) {
+            if (streamed) {
+                throw new IllegalStateException("Response body has already been consumed as a stream");
+            }
+            try (final InputStream input = response.body()) {
+                responseBody = ByteBuffer.wrap(input.readAllBytes());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to handle response data", ex);
+            }
+        }
         return responseBody;
     }
+
+    @Override
+    public InputStream bodyAsStream() {
+        if (responseBody != null) {
+            return new ByteArrayInputStream(responseBody.array());
+        }
+        if (streamed) {
+            throw new IllegalStateException("Response body has already been consumed as a stream");
+        }
+        streamed = true;
+        return response.body();
+    }
+
+    /**
+     * Release the underlying connection unless ownership of the body stream was passed to the caller.
+     *
+     * <p>An unread body of up to {@value #DRAIN_LIMIT} bytes is read to its end, so that the connection can be
+     * reused. Closing a stream with more data aborts the exchange instead.
+     */
+    void release() {
+        if (!streamed) {
+            try (final InputStream input = response.body()) {
+                final long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                if (length <= DRAIN_LIMIT) {
+                    drain(input);
+                }
+            } catch (final IOException ex) {
+                HttpClientService.LOGGER.debug("Unable to close response stream: {}", ex.getMessage());
+            }
+        }
+    }
+
+    static void drain(final InputStream input) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = DRAIN_LIMIT;
+        while (remaining > 0) {
+            final int count = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (count < 0) {
+                return;
+            }
+            remaining -= count;
+        }
+    }
 }
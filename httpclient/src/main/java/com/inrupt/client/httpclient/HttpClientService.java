@@ -27,10 +27,11 @@ import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
 
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
@@ -43,7 +44,7 @@ import org.slf4j.LoggerFactory;
  */
 public class HttpClientService implements HttpService {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientService.class);
+    static final Logger LOGGER = LoggerFactory.getLogger(HttpClientService.class);
 
     private final HttpClient client;
 
@@ -63,11 +64,12 @@ public class HttpClientService implements HttpService {
     public <T> CompletionStage<Response<T>> send(final Request request, final Response.BodyHandler<T> handler) {
         final var builder = HttpRequest.newBuilder(request.uri());
 
-        final var publisher = request.bodyPublisher().map(Request.BodyPublisher::getBytes)
-            .map(buf -> HttpRequest.BodyPublishers.ofByteArray(buf.array()))
+        final var publisher = request.bodyPublisher().map(HttpClientService::prepareBody)
             .orElseGet(HttpRequest.BodyPublishers::noBody);
 
         builder.method(request.method(), publisher);
+        request.bodyPublisher().filter(HttpClientService::expectContinue)
+            .ifPresent(p -> builder.expectContinue(true));
         request.timeout().ifPresent(builder::timeout);
 
         for (final Map.Entry<String, List<String>> entry : request.headers().asMap().entrySet()) {
@@ -84,7 +86,7 @@ public class HttpClientService implements HttpService {
             }
         }
 
-        return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofInputStream())
             .thenApply(res -> {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Response Status Code: {}", res.statusCode());
@@ -92,11 +94,44 @@ public class HttpClientService implements HttpService {
                         LOGGER.trace("Response Headers: {}", res.headers());
                     }
                 }
-                final var info = new HttpClientResponseInfo(res, ByteBuffer.wrap(res.body()));
-                return new HttpClientResponse<>(res.uri(), info, handler.apply(info));
+                final var info = new HttpClientResponseInfo(res);
+                try {
+                    return new HttpClientResponse<>(res.uri(), info, handler.apply(info));
+                } finally {
+                    info.release();
+                }
             });
     }
 
+    static HttpRequest.BodyPublisher prepareBody(final Request.BodyPublisher publisher) {
+        final var file = publisher.getFile();
+        if (file.isPresent()) {
+            try {
+                return HttpRequest.BodyPublishers.ofFile(file.get());
+            } catch (final FileNotFoundException ex) {
+                throw new UncheckedIOException("Error reading request body from file", ex);
+            }
+        }
+        if (publisher.isStreaming()) {
+            if (publisher.contentLength() == 0) {
+                // A declared empty body is sent with Content-Length: 0
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            final var stream = HttpRequest.BodyPublishers.ofInputStream(publisher::getInputStream);
+            if (publisher.contentLength() > 0) {
+                return HttpRequest.BodyPublishers.fromPublisher(stream, publisher.contentLength());
+            }
+            // Without a declared length, the body will be sent with a chunked transfer
+            return stream;
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(publisher.getBytes().array());
+    }
+
+    static boolean expectContinue(final Request.BodyPublisher publisher) {
+        // A one-shot stream should not be consumed by a request that may be rejected with an auth challenge
+        return publisher.isStreaming() && !publisher.isRepeatable() && publisher.contentLength() != 0;
+    }
+
     /**
      * Create an HTTP client service with a pre-configured {@link HttpClient}.
      *
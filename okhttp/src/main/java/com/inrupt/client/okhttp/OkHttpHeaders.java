@@ -0,0 +1,87 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.okhttp;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import okhttp3.Headers;
+
+/**
+ * A read-only map view of {@link Headers}, with case-insensitive lookups.
+ *
+ * <p>Header values are read from the underlying OkHttp headers on demand rather than being copied.
+ */
+final class OkHttpHeaders extends AbstractMap<String, List<String>> {
+
+    private final Headers headers;
+    private volatile Set<Map.Entry<String, List<String>>> entries;
+
+    /**
+     * Create a map view of OkHttp headers.
+     *
+     * @param headers the OkHttp headers
+     */
+    OkHttpHeaders(final Headers headers) {
+        this.headers = Objects.requireNonNull(headers, "Headers may not be null!");
+    }
+
+    @Override
+    public List<String> get(final Object key) {
+        if (key instanceof String) {
+            final List<String> values = headers.values((String) key);
+            if (!values.isEmpty()) {
+                return values;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && headers.get((String) key) != null;
+    }
+
+    @Override
+    public int size() {
+        return headers.names().size();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        Set<Map.Entry<String, List<String>>> value = entries;
+        if (value == null) {
+            final NavigableMap<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (final String name : headers.names()) {
+                map.put(name, headers.values(name));
+            }
+            value = Collections.unmodifiableSet(map.entrySet());
+            entries = value;
+        }
+        return value;
+    }
+}
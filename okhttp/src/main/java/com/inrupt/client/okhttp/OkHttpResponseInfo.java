@@ -23,7 +23,9 @@ package com.inrupt.client.okhttp;
 import com.inrupt.client.Headers;
 import com.inrupt.client.Response.ResponseInfo;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
@@ -33,6 +35,9 @@ import okhttp3.Response;
 class OkHttpResponseInfo implements ResponseInfo {
 
     private final Response response;
+    private Headers responseHeaders;
+    private ByteBuffer responseBody;
+    private boolean streamed;
 
     public OkHttpResponseInfo(final Response response) {
         this.response = response;
@@ -40,7 +45,10 @@ class OkHttpResponseInfo implements ResponseInfo {
 
     @Override
     public Headers headers() {
-        return Headers.of(response.headers().toMultimap());
+        if (responseHeaders == null) {
+            responseHeaders = Headers.wrap(new OkHttpHeaders(response.headers()));
+        }
+        return responseHeaders;
     }
 
     @Override
@@ -55,10 +63,37 @@ class OkHttpResponseInfo implements ResponseInfo {
 
     @Override
     public ByteBuffer body() {
-        try {
-            return ByteBuffer.wrap(response.body().bytes());
-        } catch (final IOException ex) {
-            throw new UncheckedIOException("Unable to handle response data", ex);
+        if (responseBody == null) {
+            if (streamed) {
+                throw new IllegalStateException("Response body has already been consumed as a stream");
+            }
+            try {
+                responseBody = ByteBuffer.wrap(response.body().bytes());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to handle response data", ex);
+            }
+        }
+        return responseBody;
+    }
+
+    @Override
+    public InputStream bodyAsStream() {
+        if (responseBody != null) {
+            return new ByteArrayInputStream(responseBody.array());
+        }
+        if (streamed) {
+            throw new IllegalStateException("Response body has already been consumed as a stream");
+        }
+        streamed = true;
+        return response.body().byteStream();
+    }
+
+    /**
+     * Release the underlying connection unless ownership of the body stream was passed to the caller.
+     */
+    void release() {
+        if (!streamed) {
+            response.close();
         }
     }
 }
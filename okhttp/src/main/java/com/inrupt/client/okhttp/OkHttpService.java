@@ -25,11 +25,13 @@ import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -86,11 +88,13 @@ public class OkHttpService implements HttpService {
                         LOGGER.trace("Response Headers: {}", res.headers());
                     }
                 }
-                try (final okhttp3.Response r = res) {
-                    final Response.ResponseInfo info = new OkHttpResponseInfo(r);
+                final OkHttpResponseInfo info = new OkHttpResponseInfo(res);
+                try {
                     future.complete(new OkHttpResponse<>(res.request().url().uri(), info, handler.apply(info)));
                 } catch (final RuntimeException ex) {
                     future.completeExceptionally(ex);
+                } finally {
+                    info.release();
                 }
             }
 
@@ -125,19 +129,33 @@ public class OkHttpService implements HttpService {
         if (NO_BODY_METHODS.contains(request.method())) {
             return null;
         }
-        return RequestBody.Companion.create(request.bodyPublisher()
-                .orElseGet(Request.BodyPublishers::noBody).getBytes().array(), mediaType);
+        final Request.BodyPublisher publisher = request.bodyPublisher().orElseGet(Request.BodyPublishers::noBody);
+        final Optional<Path> file = publisher.getFile();
+        if (file.isPresent()) {
+            return RequestBody.Companion.create(file.get().toFile(), mediaType);
+        }
+        if (publisher.isStreaming()) {
+            return new OkHttpStreamingBody(publisher, mediaType);
+        }
+        return RequestBody.Companion.create(publisher.getBytes().array(), mediaType);
     }
 
     static okhttp3.Request prepareRequest(final Request request) {
         final Headers headers = prepareHeaders(request.headers().asMap());
         final MediaType mediaType = getContentType(headers);
 
-        return new okhttp3.Request.Builder()
+        final okhttp3.Request.Builder builder = new okhttp3.Request.Builder()
             .url(request.uri().toString())
             .headers(headers)
-            .method(request.method(), prepareBody(request, mediaType))
-            .build();
+            .method(request.method(), prepareBody(request, mediaType));
+
+        // A one-shot stream should not be consumed by a request that may be rejected with an auth challenge
+        if (request.bodyPublisher()
+                .filter(p -> p.isStreaming() && !p.isRepeatable() && p.contentLength() != 0).isPresent()
+                && !NO_BODY_METHODS.contains(request.method())) {
+            builder.header("Expect", "100-continue");
+        }
+        return builder.build();
     }
 
     static Headers prepareHeaders(final Map<String, List<String>> headers) {
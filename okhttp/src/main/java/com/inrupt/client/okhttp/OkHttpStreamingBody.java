@@ -0,0 +1,68 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.okhttp;
+
+import com.inrupt.client.Request;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A {@link RequestBody} that streams data from a {@link Request.BodyPublisher}.
+ */
+class OkHttpStreamingBody extends RequestBody {
+
+    private final Request.BodyPublisher publisher;
+    private final MediaType mediaType;
+
+    public OkHttpStreamingBody(final Request.BodyPublisher publisher, final MediaType mediaType) {
+        this.publisher = publisher;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+        // A negative value results in a chunked transfer
+        return publisher.contentLength() < 0 ? -1 : publisher.contentLength();
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return !publisher.isRepeatable();
+    }
+
+    @Override
+    public void writeTo(final BufferedSink sink) throws IOException {
+        try (final Source source = Okio.source(publisher.getInputStream())) {
+            sink.writeAll(source);
+        }
+    }
+}
@@ -41,6 +41,9 @@ public class OpenIdConfig {
     private String audience; /* default: null */
     private Map<String, KeyPair> keypairs = new HashMap<>();
     private List<String> scopes = new ArrayList<>(Arrays.asList("openid", "webid"));
+    private boolean sharedProofKeys; /* default: false */
+    private double refreshAhead = 0.8; /* default: 80% of the token lifetime */
+    private double refreshJitter = 0.1; /* default: up to 10% earlier */
 
     /**
      * Get the expiration grace period for an ID token in seconds.
@@ -131,6 +134,27 @@ public class OpenIdConfig {
         return keypairs;
     }
 
+    /**
+     * Indicate whether sessions without externally-defined Proofing (DPoP) keypairs use a shared keypair.
+     *
+     * @return true if a process-wide keypair is used, default is {@code false}
+     */
+    public boolean isSharedProofKeys() {
+        return sharedProofKeys;
+    }
+
+    /**
+     * Set whether sessions without externally-defined Proofing (DPoP) keypairs use a shared keypair.
+     *
+     * <p>By default, a new keypair is generated for each session. A process-wide keypair avoids the cost
+     * of key generation when many sessions are created.
+     *
+     * @param sharedProofKeys whether to use a process-wide keypair
+     */
+    public void setSharedProofKeys(final boolean sharedProofKeys) {
+        this.sharedProofKeys = sharedProofKeys;
+    }
+
     /**
      * Set any OAuth 2.0 scope values.
      *
@@ -152,4 +176,45 @@ public class OpenIdConfig {
     public List<String> getScopes() {
         return scopes;
     }
+
+    /**
+     * Get the fraction of a token's lifetime after which it will be refreshed ahead of expiry.
+     *
+     * @return the refresh-ahead ratio, default is 0.8
+     */
+    public double getRefreshAheadRatio() {
+        return refreshAhead;
+    }
+
+    /**
+     * Set the fraction of a token's lifetime after which it will be refreshed ahead of expiry.
+     *
+     * <p>A token is refreshed in the background while the current token continues to be used.
+     * A value less than or equal to zero, or greater than or equal to one, disables refresh-ahead.
+     *
+     * @param refreshAhead the refresh-ahead ratio
+     */
+    public void setRefreshAheadRatio(final double refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Get the maximum random jitter applied to the refresh-ahead time, as a fraction of that time.
+     *
+     * @return the refresh jitter, default is 0.1
+     */
+    public double getRefreshJitter() {
+        return refreshJitter;
+    }
+
+    /**
+     * Set the maximum random jitter applied to the refresh-ahead time, as a fraction of that time.
+     *
+     * <p>Jitter prevents a large number of clients from refreshing their tokens at the same time.
+     *
+     * @param refreshJitter the refresh jitter, between 0 and 1
+     */
+    public void setRefreshJitter(final double refreshJitter) {
+        this.refreshJitter = refreshJitter;
+    }
 }
@@ -60,11 +60,13 @@ public class OpenIdProvider {
     private static final String CLIENT_ID = "client_id";
     private static final String CODE_CHALLENGE = "code_challenge";
     private static final String CODE_CHALLENGE_METHOD = "code_challenge_method";
+    private static final String DPOP_NONCE = "DPoP-Nonce";
     private static final String NONCE = "nonce";
     private static final String REDIRECT_URI = "redirect_uri";
     private static final String RESPONSE_TYPE = "response_type";
     private static final String SCOPE = "scope";
     private static final String STATE = "state";
+    private static final String USE_DPOP_NONCE = "use_dpop_nonce";
 
     private static final String EQUALS = "=";
     private static final String ETC = "&";
@@ -128,10 +130,10 @@ public class OpenIdProvider {
         final Request req = Request.newBuilder(getMetadataUrl()).header("Accept", "application/json").build();
         return httpClient.send(req, Response.BodyHandlers.ofInputStream())
             .thenApply(res -> {
-                try {
+                try (final InputStream input = res.body()) {
                     final int httpStatus = res.statusCode();
                     if (httpStatus >= 200 && httpStatus < 300) {
-                        final Metadata discovery = jsonService.fromJson(res.body(), Metadata.class);
+                        final Metadata discovery = jsonService.fromJson(input, Metadata.class);
                         metadataCache.put(uri, discovery);
                         return discovery;
                     }
@@ -192,15 +194,24 @@ public class OpenIdProvider {
      */
     public CompletionStage<TokenResponse> token(final TokenRequest request) {
         return metadata()
-            .thenApply(metadata -> tokenRequest(metadata, request))
-            .thenCompose(req -> httpClient.send(req, Response.BodyHandlers.ofInputStream()))
-            .thenApply(res -> {
+            .thenCompose(metadata -> token(metadata, request, true));
+    }
+
+    CompletionStage<TokenResponse> token(final Metadata metadata, final TokenRequest request, final boolean retry) {
+        return httpClient.send(tokenRequest(metadata, request), Response.BodyHandlers.ofInputStream())
+            .thenCompose(res -> {
+                final Optional<String> nonce = res.headers().firstValue(DPOP_NONCE);
+                nonce.ifPresent(value -> dpop.updateNonce(metadata.tokenEndpoint, value));
                 try (final InputStream input = res.body()) {
                     final int httpStatus = res.statusCode();
                     if (httpStatus >= 200 && httpStatus < 300) {
-                        return jsonService.fromJson(input, TokenResponse.class);
+                        return CompletableFuture.completedFuture(jsonService.fromJson(input, TokenResponse.class));
                     }
                     final ErrorResponse error = tryParseError(input);
+                    if (retry && nonce.isPresent() && USE_DPOP_NONCE.equals(error.error)) {
+                        // Retry once, now that the server-provided nonce is available for the DPoP proof
+                        return token(metadata, request, false);
+                    }
                     throw new OpenIdException(
                         error.error + " error while interacting with the OpenID Provider's token endpoint" +
                         (error.errorDescription != null ? ": '" + error.errorDescription + "'." : "."),
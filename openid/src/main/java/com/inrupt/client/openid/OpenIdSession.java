@@ -26,6 +26,7 @@ import com.inrupt.client.ClientCache;
 import com.inrupt.client.Request;
 import com.inrupt.client.auth.Authenticator;
 import com.inrupt.client.auth.Credential;
+import com.inrupt.client.auth.CredentialIndex;
 import com.inrupt.client.auth.DPoP;
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.spi.ServiceProvider;
@@ -34,8 +35,10 @@ import java.net.URI;
 import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,8 +47,8 @@ import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -54,7 +57,6 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.jose4j.jwk.HttpsJwks;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
-import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumer;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
@@ -71,22 +73,41 @@ public final class OpenIdSession implements Session {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenIdSession.class);
 
+    private static final long JWKS_REFRESH_THRESHOLD = 10_000L; /* milliseconds */
+    private static final Map<URI, VerificationKeyResolver> RESOLVERS = new ConcurrentHashMap<>();
+    private static final Map<List<Object>, JwtConsumer> CONSUMERS = new ConcurrentHashMap<>();
+
     public static final URI ID_TOKEN = URI.create("http://openid.net/specs/openid-connect-core-1_0.html#IDToken");
 
     private final String id;
     private final Set<String> schemes;
     private final Supplier<CompletionStage<Credential>> authenticator;
     private final AtomicReference<Credential> credential = new AtomicReference<>();
-    private final ForkJoinPool executor = new ForkJoinPool(1);
+    private final AtomicReference<Instant> refreshAt = new AtomicReference<>(Instant.MAX);
+    private final Object refreshLock = new Object();
+    private final double refreshAhead;
+    private final double refreshJitter;
+    private CompletableFuture<Credential> refresh;
     private final DPoP dpop;
     private final ClientCache<URI, Credential> requestCache;
+    private final CredentialIndex tokenIndex;
 
-    private OpenIdSession(final String id, final DPoP dpop,
+    OpenIdSession(final String id, final DPoP dpop,
             final Supplier<CompletionStage<Credential>> authenticator) {
+        this(id, dpop, authenticator, 0, 0);
+    }
+
+    OpenIdSession(final String id, final DPoP dpop,
+            final Supplier<CompletionStage<Credential>> authenticator,
+            final double refreshAhead, final double refreshJitter) {
+        this.refreshAhead = refreshAhead;
+        this.refreshJitter = refreshJitter;
         this.id = Objects.requireNonNull(id, "Session id may not be null!");
         this.authenticator = Objects.requireNonNull(authenticator, "OpenID authenticator may not be null!");
         this.dpop = Objects.requireNonNull(dpop);
         this.requestCache = ServiceProvider.getCacheBuilder().build(1000, Duration.ofMinutes(5));
+        this.tokenIndex = new CredentialIndex(() ->
+                ServiceProvider.getCacheBuilder().build(1000, Duration.ofMinutes(5)));
 
         // Support case-insensitive lookups
         final Set<String> schemeNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
@@ -114,7 +135,7 @@ public final class OpenIdSession implements Session {
      * @return the session
      */
     public static Session ofIdToken(final String idToken, final OpenIdConfig config) {
-        final DPoP dpop = DPoP.of(config.getProofKeyPairs());
+        final DPoP dpop = getDPoP(config);
         final JwtClaims claims = parseIdToken(idToken, config);
         final String id = getSessionIdentifier(claims);
         final String jkt = getProofThumbprint(claims);
@@ -149,7 +170,7 @@ public final class OpenIdSession implements Session {
                 final JwtClaims claims = parseIdToken(response.idToken, config);
                 return new Credential(response.tokenType, getIssuer(claims), response.idToken,
                         toInstant(response.expiresIn), getPrincipal(claims), getProofThumbprint(claims));
-            }));
+            }), config.getRefreshAheadRatio(), config.getRefreshJitter());
     }
 
     /**
@@ -166,7 +187,7 @@ public final class OpenIdSession implements Session {
             final String clientId, final String clientSecret, final String authMethod,
             final OpenIdConfig config) {
         final String id = UUID.randomUUID().toString();
-        final DPoP dpop = DPoP.of(config.getProofKeyPairs());
+        final DPoP dpop = getDPoP(config);
         return new OpenIdSession(id, dpop, () -> provider.metadata()
             .thenCompose(metadata -> provider.token(TokenRequest.newBuilder()
                 .clientSecret(clientSecret)
@@ -178,7 +199,7 @@ public final class OpenIdSession implements Session {
                 final JwtClaims claims = parseIdToken(response.idToken, config);
                 return new Credential(response.tokenType, getIssuer(claims), response.idToken,
                         toInstant(response.expiresIn), getPrincipal(claims), getProofThumbprint(claims));
-            }));
+            }), config.getRefreshAheadRatio(), config.getRefreshJitter());
     }
 
     @Override
@@ -198,14 +219,29 @@ public final class OpenIdSession implements Session {
 
     @Override
     public Optional<Credential> getCredential(final URI name, final URI uri) {
+        return getCredentialAsync(name, uri).toCompletableFuture().join();
+    }
+
+    @Override
+    public CompletionStage<Optional<Credential>> getCredentialAsync(final URI name, final URI uri) {
         if (ID_TOKEN.equals(name)) {
             final Credential cred = credential.get();
             if (!hasExpired(cred)) {
-                return Optional.of(cred);
+                if (Instant.now().isAfter(refreshAt.get())) {
+                    // Refresh the credential in the background, continuing to use the current credential
+                    LOGGER.debug("Refreshing ID token ahead of expiry for session: {}", id);
+                    refresh(cred).whenComplete((refreshed, err) -> {
+                        if (err != null || refreshed == null) {
+                            LOGGER.debug("Unable to refresh ID token ahead of expiry: {}",
+                                    err != null ? err.getMessage() : "no valid credential");
+                        }
+                    });
+                }
+                return CompletableFuture.completedFuture(Optional.of(cred));
             }
-            return Optional.ofNullable(executor.invoke(ForkJoinTask.adapt(this::synchronizedFetch)));
+            return refresh(cred).thenApply(Optional::ofNullable);
         }
-        return Optional.empty();
+        return CompletableFuture.completedFuture(Optional.empty());
     }
 
     @Override
@@ -223,6 +259,11 @@ public final class OpenIdSession implements Session {
         return dpop.lookupAlgorithm(jkt).map(alg -> dpop.generateProof(alg, request.uri(), request.method()));
     }
 
+    @Override
+    public void updateNonce(final URI uri, final String nonce) {
+        dpop.updateNonce(uri, nonce);
+    }
+
     @Override
     public Optional<Credential> fromCache(final Request request) {
         if (request != null) {
@@ -231,14 +272,33 @@ public final class OpenIdSession implements Session {
                 LOGGER.debug("Using cached token for request: {}", request.uri());
                 return Optional.of(cachedToken);
             }
+            // Fall back to a token negotiated for a resource in the same container hierarchy
+            final Optional<Credential> token = tokenIndex.get(request.uri());
+            if (token.isPresent()) {
+                LOGGER.debug("Using token from container hierarchy for request: {}", request.uri());
+            }
+            return token;
         }
         return Optional.empty();
     }
 
+    @Override
+    public void invalidate(final Request request, final Credential token) {
+        if (request != null && token != null) {
+            final URI key = cacheKey(request.uri());
+            if (token.equals(requestCache.get(key))) {
+                requestCache.invalidate(key);
+            }
+            tokenIndex.invalidate(request.uri(), token);
+        }
+    }
+
     @Override
     public void reset() {
         credential.set(null);
+        refreshAt.set(Instant.MAX);
         requestCache.invalidateAll();
+        tokenIndex.invalidateAll();
     }
 
     @Override
@@ -249,6 +309,7 @@ public final class OpenIdSession implements Session {
                     if (cred != null) {
                         LOGGER.debug("Setting cache entry for request: {}", request.uri());
                         requestCache.put(cacheKey(request.uri()), cred);
+                        tokenIndex.put(request.uri(), cred);
                     }
                     return Optional.ofNullable(cred);
                 });
@@ -261,20 +322,68 @@ public final class OpenIdSession implements Session {
         return true;
     }
 
-    private synchronized Credential synchronizedFetch() {
-        // Check again inside the synchronized method
-        final Credential cred = credential.get();
-        if (!hasExpired(cred)) {
-            return cred;
+    CompletableFuture<Credential> refresh(final Credential observed) {
+        final CompletableFuture<Credential> future;
+        synchronized (refreshLock) {
+            // Join any refresh operation that is already in flight
+            if (refresh != null) {
+                return refresh.copy();
+            }
+            // A refresh may have completed since the caller observed the credential
+            final Credential current = credential.get();
+            if (current != observed && !hasExpired(current)) {
+                return CompletableFuture.completedFuture(current);
+            }
+            future = new CompletableFuture<>();
+            refresh = future;
         }
 
-        // Fetch the refreshed credentials
-        final Credential refreshed = authenticator.get().toCompletableFuture().join();
-        if (!hasExpired(refreshed)) {
-            credential.set(refreshed);
-            return refreshed;
+        // Fetch the refreshed credentials without blocking the caller
+        CompletionStage<Credential> stage;
+        try {
+            stage = authenticator.get();
+        } catch (final RuntimeException ex) {
+            stage = CompletableFuture.failedFuture(ex);
         }
-        return null;
+        stage.whenComplete((refreshed, err) -> {
+            // Publish the outcome before other callers can start a new refresh
+            final boolean valid = err == null && !hasExpired(refreshed);
+            synchronized (refreshLock) {
+                if (valid) {
+                    refreshAt.set(refreshTime(Instant.now(), refreshed.getExpiration(), refreshAhead,
+                                refreshJitter));
+                    credential.set(refreshed);
+                } else if (!hasExpired(credential.get())) {
+                    // Try again halfway to the expiration of the current credential
+                    refreshAt.set(refreshTime(Instant.now(), credential.get().getExpiration(), 0.5, 0));
+                }
+                refresh = null;
+            }
+            if (err != null) {
+                future.completeExceptionally(err);
+            } else {
+                future.complete(valid ? refreshed : null);
+            }
+        });
+        return future.copy();
+    }
+
+    static DPoP getDPoP(final OpenIdConfig config) {
+        if (config.getProofKeyPairs().isEmpty() && config.isSharedProofKeys()) {
+            return DPoP.shared();
+        }
+        return DPoP.of(config.getProofKeyPairs());
+    }
+
+    static Instant refreshTime(final Instant issued, final Instant expiration, final double ratio,
+            final double jitter) {
+        if (ratio <= 0 || ratio >= 1 || Instant.MAX.equals(expiration) || !expiration.isAfter(issued)) {
+            return Instant.MAX;
+        }
+        // Apply random jitter so that many sessions do not refresh in lockstep
+        final double factor = ratio * (1 - Math.min(Math.max(jitter, 0), 1) * ThreadLocalRandom.current().nextDouble());
+        final long lifetime = Duration.between(issued, expiration).toMillis();
+        return issued.plusMillis((long) (lifetime * factor));
     }
 
     static String getSessionIdentifier(final JwtClaims claims) {
@@ -348,41 +457,57 @@ public final class OpenIdSession implements Session {
 
     static JwtClaims parseIdToken(final String idToken, final OpenIdConfig config) {
         try {
-            final JwtConsumerBuilder builder = new JwtConsumerBuilder();
+            return getConsumer(config).processToClaims(idToken);
+        } catch (final InvalidJwtException ex) {
+            throw new OpenIdException("Unable to parse ID token", ex);
+        }
+    }
 
-            // Required by OpenID Connect
-            builder.setRequireExpirationTime();
-            builder.setExpectedIssuers(true, (String[]) null);
-            builder.setRequireSubject();
-            builder.setRequireIssuedAt();
+    static JwtConsumer getConsumer(final OpenIdConfig config) {
+        // A JwtConsumer is thread-safe and can be reused for any configuration with the same validation rules
+        final List<Object> key = Arrays.asList(config.getExpGracePeriodSecs(), config.getExpectedAudience(),
+                config.getPublicKeyLocation());
+        return CONSUMERS.computeIfAbsent(key, k -> buildConsumer(config));
+    }
 
-            // If a grace period is set, allow for some clock skew
-            if (config.getExpGracePeriodSecs() > 0) {
-                builder.setAllowedClockSkewInSeconds(config.getExpGracePeriodSecs());
-            } else {
-                builder.setEvaluationTime(NumericDate.fromSeconds(Instant.now().getEpochSecond()));
-            }
+    static JwtConsumer buildConsumer(final OpenIdConfig config) {
+        final JwtConsumerBuilder builder = new JwtConsumerBuilder();
 
-            // If an expected audience is set, verify that we have the correct value
-            if (config.getExpectedAudience() != null) {
-                builder.setExpectedAudience(true, config.getExpectedAudience());
-            } else {
-                builder.setSkipDefaultAudienceValidation();
-            }
+        // Required by OpenID Connect
+        builder.setRequireExpirationTime();
+        builder.setExpectedIssuers(true, (String[]) null);
+        builder.setRequireSubject();
+        builder.setRequireIssuedAt();
 
-            // If a JWKS location is set, perform signature validation
-            if (config.getPublicKeyLocation() != null) {
-                final HttpsJwks jwks = new HttpsJwks(config.getPublicKeyLocation().toString());
-                final VerificationKeyResolver resolver = new HttpsJwksVerificationKeyResolver(jwks);
-                builder.setVerificationKeyResolver(resolver);
-            } else {
-                builder.setSkipSignatureVerification();
-            }
+        // If a grace period is set, allow for some clock skew. Tokens are otherwise evaluated at the current time
+        if (config.getExpGracePeriodSecs() > 0) {
+            builder.setAllowedClockSkewInSeconds(config.getExpGracePeriodSecs());
+        }
 
-            final JwtConsumer consumer = builder.build();
-            return consumer.processToClaims(idToken);
-        } catch (final InvalidJwtException ex) {
-            throw new OpenIdException("Unable to parse ID token", ex);
+        // If an expected audience is set, verify that we have the correct value
+        if (config.getExpectedAudience() != null) {
+            builder.setExpectedAudience(true, config.getExpectedAudience());
+        } else {
+            builder.setSkipDefaultAudienceValidation();
+        }
+
+        // If a JWKS location is set, perform signature validation
+        if (config.getPublicKeyLocation() != null) {
+            builder.setVerificationKeyResolver(getKeyResolver(config.getPublicKeyLocation()));
+        } else {
+            builder.setSkipSignatureVerification();
         }
+
+        return builder.build();
+    }
+
+    static VerificationKeyResolver getKeyResolver(final URI location) {
+        // A JWKS document is shared by all sessions that use it. The keys are cached according to the
+        // HTTP caching headers and the document is only fetched again, at a limited rate, for an unknown key id.
+        return RESOLVERS.computeIfAbsent(location, uri -> {
+            final HttpsJwks jwks = new HttpsJwks(uri.toString());
+            jwks.setRefreshReprieveThreshold(JWKS_REFRESH_THRESHOLD);
+            return new HttpsJwksVerificationKeyResolver(jwks);
+        });
     }
 }
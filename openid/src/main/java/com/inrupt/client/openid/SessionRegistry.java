@@ -0,0 +1,140 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.openid;
+
+import com.inrupt.client.auth.Credential;
+import com.inrupt.client.auth.Session;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A bounded registry of sessions, keyed by ID token.
+ *
+ * <p>Web applications typically receive the same ID token with each request from a given user. Reusing
+ * a single session for that token preserves any access tokens negotiated on behalf of the user across
+ * requests. An entry is retained until its ID token expires or, if the registry is full, until it is
+ * the least recently used entry.
+ */
+public final class SessionRegistry {
+
+    /** The default maximum number of sessions held in a registry. */
+    public static final int DEFAULT_SIZE = 1000;
+
+    private final Map<String, Entry> sessions;
+
+    /**
+     * Create a session registry with the default size.
+     */
+    public SessionRegistry() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a session registry.
+     *
+     * @param maximumSize the maximum number of sessions to retain
+     */
+    public SessionRegistry(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Session registry size must be positive!");
+        }
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Get a session for an ID token, creating one if no unexpired session is registered.
+     *
+     * <p>Sessions are registered only if they expose an {@link OpenIdSession#ID_TOKEN} credential,
+     * whose expiration determines the lifetime of the registry entry.
+     *
+     * @param idToken the ID token
+     * @param mapping a mapping function for creating a Session from an ID token
+     * @return the session
+     */
+    public Session get(final String idToken, final Function<String, Session> mapping) {
+        Objects.requireNonNull(idToken, "ID token may not be null!");
+        Objects.requireNonNull(mapping, "Session mapping may not be null!");
+
+        final String key = OpenIdSession.sha256(idToken);
+        final Instant now = Instant.now();
+        synchronized (sessions) {
+            final Entry entry = sessions.get(key);
+            if (entry != null) {
+                if (now.isBefore(entry.expiration)) {
+                    return entry.session;
+                }
+                sessions.remove(key);
+            }
+        }
+
+        final Session session = mapping.apply(idToken);
+        if (session != null) {
+            final Optional<Instant> expiration = session.getCredential(OpenIdSession.ID_TOKEN, null)
+                .map(Credential::getExpiration);
+            if (expiration.isPresent() && now.isBefore(expiration.get())) {
+                synchronized (sessions) {
+                    // Prefer a session registered concurrently for the same token
+                    final Entry existing = sessions.get(key);
+                    if (existing != null && now.isBefore(existing.expiration)) {
+                        return existing.session;
+                    }
+                    sessions.put(key, new Entry(session, expiration.get()));
+                }
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Remove all sessions from the registry.
+     */
+    public void invalidateAll() {
+        synchronized (sessions) {
+            sessions.clear();
+        }
+    }
+
+    int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    static final class Entry {
+        final Session session;
+        final Instant expiration;
+
+        Entry(final Session session, final Instant expiration) {
+            this.session = session;
+            this.expiration = expiration;
+        }
+    }
+}
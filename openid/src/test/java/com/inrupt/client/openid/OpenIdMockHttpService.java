@@ -21,6 +21,7 @@
 package com.inrupt.client.openid;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -93,6 +94,28 @@ class OpenIdMockHttpService {
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("token-error.json")));
 
+        wireMockServer.stubFor(post(urlPathMatching("/token"))
+                .inScenario("DPoP Nonce")
+                .whenScenarioStateIs(STARTED)
+                .atPriority(1)
+                .withRequestBody(containing("code=nonce-required"))
+                .willReturn(aResponse()
+                    .withStatus(400)
+                    .withHeader("Content-Type", "application/json")
+                    .withHeader("DPoP-Nonce", "eyJ7S_zG.eyJH0-Z.HX4w-7v")
+                    .withBody("{\"error\":\"use_dpop_nonce\"}"))
+                .willSetStateTo("Nonce Issued"));
+
+        wireMockServer.stubFor(post(urlPathMatching("/token"))
+                .inScenario("DPoP Nonce")
+                .whenScenarioStateIs("Nonce Issued")
+                .atPriority(1)
+                .withRequestBody(containing("code=nonce-required"))
+                .willReturn(aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(getTokenResponseJSON())));
+
         wireMockServer.stubFor(post(urlPathMatching("/token"))
                 .withHeader("Content-Type", containing("application/x-www-form-urlencoded"))
                     .atPriority(2)
@@ -136,6 +136,22 @@ class OpenIdProviderTest {
             () -> builder.build("myGrantType", null));
     }
 
+    @Test
+    void tokenDPoPNonceTest() {
+        final TokenRequest tokenReq = TokenRequest.newBuilder()
+            .code("nonce-required")
+            .codeVerifier("nonceVerifier")
+            .issuer(issuer)
+            .redirectUri(URI.create("https://example.test/redirectUri"))
+            .build(
+                "authorization_code",
+                "myClientId"
+            );
+        final TokenResponse token = openIdProvider.token(tokenReq).toCompletableFuture().join();
+        assertEquals("123456", token.accessToken);
+        assertEquals("Bearer", token.tokenType);
+    }
+
     @Test
     void tokenIssuerMismatch() {
         final TokenRequest tokenReq = TokenRequest.newBuilder()
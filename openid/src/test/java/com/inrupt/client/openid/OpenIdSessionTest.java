@@ -21,6 +21,7 @@
 package com.inrupt.client.openid;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.jose4j.lang.HashUtil.SHA_256;
@@ -39,6 +40,7 @@ import java.io.UncheckedIOException;
 import java.net.URI;
 import java.security.KeyPair;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -48,6 +50,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
@@ -315,6 +322,147 @@ class OpenIdSessionTest {
         assertThrows(OpenIdException.class, () -> OpenIdSession.ofIdToken(token, config));
     }
 
+    @Test
+    void testCoalescedRefresh() {
+        final AtomicInteger count = new AtomicInteger();
+        final CompletableFuture<Credential> pending = new CompletableFuture<>();
+        final Session session = new OpenIdSession("id", DPoP.of(), () -> {
+            count.incrementAndGet();
+            return pending;
+        });
+
+        final CompletableFuture<Optional<Credential>> first = session
+            .getCredentialAsync(OpenIdSession.ID_TOKEN, null).toCompletableFuture();
+        final CompletableFuture<Optional<Credential>> second = session
+            .getCredentialAsync(OpenIdSession.ID_TOKEN, null).toCompletableFuture();
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(1, count.get());
+
+        final Credential credential = new Credential("Bearer", URI.create(ISS), "token",
+                Instant.now().plusSeconds(300), URI.create(WEBID), null);
+        pending.complete(credential);
+        assertEquals(Optional.of(credential), first.join());
+        assertEquals(Optional.of(credential), second.join());
+        assertEquals(Optional.of(URI.create(WEBID)), session.getPrincipal());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void testConcurrentRefresh() throws InterruptedException {
+        final AtomicInteger count = new AtomicInteger();
+        final OpenIdSession session = new OpenIdSession("id", DPoP.of(), () -> {
+            count.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> new Credential("Bearer", URI.create(ISS), "token",
+                        Instant.now().plusSeconds(300), URI.create(WEBID), null),
+                    CompletableFuture.delayedExecutor(50, MILLISECONDS));
+        });
+
+        final int threads = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<Optional<Credential>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return session.getCredential(OpenIdSession.ID_TOKEN, null);
+            }));
+        }
+        start.countDown();
+        for (final Future<Optional<Credential>> result : results) {
+            assertDoesNotThrow(() -> assertTrue(result.get().isPresent()));
+        }
+        executor.shutdown();
+        assertEquals(1, count.get());
+
+        // A caller that observed the credential before the refresh completed does not start another one
+        assertEquals("token", session.refresh(null).join().getToken());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void testRefreshAhead() {
+        final AtomicInteger count = new AtomicInteger();
+        final Session session = new OpenIdSession("id", DPoP.of(), () -> CompletableFuture.completedFuture(
+                    new Credential("Bearer", URI.create(ISS), "token-" + count.incrementAndGet(),
+                        Instant.now().plusSeconds(30), URI.create(WEBID), null)), 0.001, 0.1);
+
+        final Optional<Credential> first = session.getCredential(OpenIdSession.ID_TOKEN, null);
+        assertEquals(Optional.of("token-1"), first.map(Credential::getToken));
+
+        // The current credential is still served while a refresh happens in the background
+        await().atMost(5, SECONDS).until(() -> session.getCredential(OpenIdSession.ID_TOKEN, null)
+                .map(Credential::getToken).filter("token-1"::equals).isEmpty());
+        assertTrue(count.get() >= 2);
+    }
+
+    @Test
+    void testRefreshAheadWithoutCredential() {
+        final AtomicInteger count = new AtomicInteger();
+        final Session session = new OpenIdSession("id", DPoP.of(), () -> {
+            if (count.incrementAndGet() == 1) {
+                return CompletableFuture.completedFuture(new Credential("Bearer", URI.create(ISS), "token",
+                            Instant.now().plusSeconds(30), URI.create(WEBID), null));
+            }
+            // A refresh that yields no usable credential
+            return CompletableFuture.completedFuture(null);
+        }, 0.001, 0);
+
+        assertTrue(session.getCredential(OpenIdSession.ID_TOKEN, null).isPresent());
+        await().atMost(5, SECONDS).until(() -> session.getCredential(OpenIdSession.ID_TOKEN, null).isPresent()
+                && count.get() >= 2);
+
+        // The next refresh is postponed rather than attempted on every access
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Optional.of("token"), session.getCredential(OpenIdSession.ID_TOKEN, null)
+                    .map(Credential::getToken));
+        }
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    void testRefreshTime() {
+        final Instant now = Instant.now();
+        final Instant expiration = now.plusSeconds(100);
+        assertEquals(now.plusSeconds(80), OpenIdSession.refreshTime(now, expiration, 0.8, 0));
+        final Instant jittered = OpenIdSession.refreshTime(now, expiration, 0.8, 0.5);
+        assertFalse(jittered.isAfter(now.plusSeconds(80)));
+        assertFalse(jittered.isBefore(now.plusSeconds(40)));
+
+        assertEquals(Instant.MAX, OpenIdSession.refreshTime(now, expiration, 0, 0.1));
+        assertEquals(Instant.MAX, OpenIdSession.refreshTime(now, expiration, 1, 0.1));
+        assertEquals(Instant.MAX, OpenIdSession.refreshTime(now, Instant.MAX, 0.8, 0.1));
+        assertEquals(Instant.MAX, OpenIdSession.refreshTime(now, now.minusSeconds(1), 0.8, 0.1));
+    }
+
+    @Test
+    void testSharedConsumer() {
+        final OpenIdConfig config1 = new OpenIdConfig();
+        config1.setPublicKeyLocation(URI.create(baseUrl + "/jwks"));
+        final OpenIdConfig config2 = new OpenIdConfig();
+        config2.setPublicKeyLocation(URI.create(baseUrl + "/jwks"));
+        final OpenIdConfig config3 = new OpenIdConfig();
+        config3.setPublicKeyLocation(URI.create(baseUrl + "/jwks"));
+        config3.setExpectedAudience(AZP);
+
+        assertSame(OpenIdSession.getConsumer(config1), OpenIdSession.getConsumer(config2));
+        assertNotSame(OpenIdSession.getConsumer(config1), OpenIdSession.getConsumer(config3));
+        assertSame(OpenIdSession.getKeyResolver(config1.getPublicKeyLocation()),
+                OpenIdSession.getKeyResolver(config3.getPublicKeyLocation()));
+    }
+
+    @Test
+    void testSharedProofKeys() {
+        final OpenIdConfig config = new OpenIdConfig();
+        assertFalse(config.isSharedProofKeys());
+        assertNotSame(DPoP.shared(), OpenIdSession.getDPoP(config));
+        config.setSharedProofKeys(true);
+        assertSame(DPoP.shared(), OpenIdSession.getDPoP(config));
+        final PublicJsonWebKey jwk = getDpopKey("/ec-key.json");
+        config.addProofKeyPair("ES256", new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey()));
+        assertNotSame(DPoP.shared(), OpenIdSession.getDPoP(config));
+    }
+
     @Test
     void testThumbprint() {
         final PublicJsonWebKey ecJwk = getDpopKey("/ec-key.json");
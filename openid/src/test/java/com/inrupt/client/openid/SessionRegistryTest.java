@@ -0,0 +1,84 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.openid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.auth.Session;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SessionRegistryTest {
+
+    static String generateIdToken(final String sub, final Instant expiration) {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("webid", "https://id.example/" + sub);
+        claims.put("sub", sub);
+        claims.put("iss", "https://iss.example");
+        claims.put("azp", "https://app.example");
+        claims.put("exp", expiration.getEpochSecond());
+        claims.put("iat", Instant.now().getEpochSecond());
+        return OpenIdTestUtils.generateIdToken(claims);
+    }
+
+    @Test
+    void testSessionReuse() {
+        final SessionRegistry registry = new SessionRegistry();
+        final String token1 = generateIdToken("user1", Instant.now().plusSeconds(300));
+        final String token2 = generateIdToken("user2", Instant.now().plusSeconds(300));
+
+        final Session session1 = registry.get(token1, OpenIdSession::ofIdToken);
+        assertSame(session1, registry.get(token1, OpenIdSession::ofIdToken));
+        assertNotSame(session1, registry.get(token2, OpenIdSession::ofIdToken));
+        assertEquals(2, registry.size());
+
+        registry.invalidateAll();
+        assertEquals(0, registry.size());
+        assertNotSame(session1, registry.get(token1, OpenIdSession::ofIdToken));
+    }
+
+    @Test
+    void testBoundedRegistry() {
+        final SessionRegistry registry = new SessionRegistry(2);
+        final String token1 = generateIdToken("user1", Instant.now().plusSeconds(300));
+        final Session session1 = registry.get(token1, OpenIdSession::ofIdToken);
+        registry.get(generateIdToken("user2", Instant.now().plusSeconds(300)), OpenIdSession::ofIdToken);
+        assertSame(session1, registry.get(token1, OpenIdSession::ofIdToken));
+        registry.get(generateIdToken("user3", Instant.now().plusSeconds(300)), OpenIdSession::ofIdToken);
+
+        assertEquals(2, registry.size());
+        assertSame(session1, registry.get(token1, OpenIdSession::ofIdToken));
+        assertThrows(IllegalArgumentException.class, () -> new SessionRegistry(0));
+    }
+
+    @Test
+    void testUnregisteredSession() {
+        final SessionRegistry registry = new SessionRegistry();
+        final String token = generateIdToken("user", Instant.now().plusSeconds(300));
+        final Session session = registry.get(token, t -> Session.anonymous());
+        assertNotSame(session, registry.get(token, t -> Session.anonymous()));
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.performance.benchmarks;
+
+import static org.jose4j.jwx.HeaderParameterNames.TYPE;
+
+import com.inrupt.client.auth.DPoP;
+
+import java.net.URI;
+import java.security.KeyPair;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.EcKeyUtil;
+import org.jose4j.keys.EllipticCurves;
+import org.jose4j.lang.JoseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of DPoP proof generation, reported as proofs per second per thread.
+ *
+ * <p>The {@code jose4j} benchmark builds each proof with a new {@link JsonWebSignature}, which is how proofs
+ * were generated before the introduction of a precomputed proof header, and serves as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class DPoPProofBenchmark {
+
+    private static final String ALGORITHM = "ES256";
+    private static final String METHOD = "GET";
+    private static final URI TARGET = URI.create("https://storage.example/container/resource");
+
+    private KeyPair keypair;
+    private DPoP dpop;
+
+    @Setup
+    public void setup() throws JoseException {
+        keypair = new EcKeyUtil().generateKeyPair(EllipticCurves.P256);
+        dpop = DPoP.of(Collections.singletonMap(ALGORITHM, keypair));
+    }
+
+    @Benchmark
+    public String proofSigner() {
+        return dpop.generateProof(ALGORITHM, TARGET, METHOD);
+    }
+
+    @Benchmark
+    public String jose4j() throws JoseException {
+        final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(keypair.getPublic());
+        final JsonWebSignature jws = new JsonWebSignature();
+        jws.setAlgorithmHeaderValue(ALGORITHM);
+        jws.setHeader(TYPE, "dpop+jwt");
+        jws.setJwkHeader(jwk);
+        jws.setKey(keypair.getPrivate());
+
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(UUID.randomUUID().toString());
+        claims.setStringClaim("htm", METHOD);
+        claims.setStringClaim("htu", TARGET.toString());
+        claims.setIssuedAtToNow();
+        jws.setPayload(claims.toJson());
+
+        return jws.getCompactSerialization();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.performance.benchmarks;
+
+import com.inrupt.client.Headers.Link;
+import com.inrupt.client.Headers.WacAllow;
+import com.inrupt.client.Headers.WwwAuthenticate;
+import com.inrupt.client.core.DefaultHeaderParser;
+import com.inrupt.client.parser.LinkLexer;
+import com.inrupt.client.parser.LinkParser;
+import com.inrupt.client.parser.WacAllowLexer;
+import com.inrupt.client.parser.WacAllowParser;
+import com.inrupt.client.parser.WwwAuthenticateLexer;
+import com.inrupt.client.parser.WwwAuthenticateParser;
+import com.inrupt.client.spi.HeaderParser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of header parsing, reported as header values per second per thread.
+ *
+ * <p>The {@code grammar} benchmarks only lex and parse each value with the ANTLR grammars from the parser
+ * module, without building the resulting values, and so represent a lower bound for the grammar-based parsers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class HeaderParserBenchmark {
+
+    private static final String LINK = "<http://www.w3.org/ns/ldp#BasicContainer>; rel=\"type\", "
+        + "<http://www.w3.org/ns/ldp#Resource>; rel=\"type\", <https://storage.example/container/.acl>; rel=\"acl\"";
+    private static final String WWW_AUTHENTICATE = "UMA as_uri=\"https://as.example\", ticket=\"eyJhbGciOiJub25l\", "
+        + "DPoP algs=\"ES256 RS256\"";
+    private static final String WAC_ALLOW = "user=\"read write append control\",public=\"read\"";
+
+    private final HeaderParser parser = new DefaultHeaderParser();
+
+    @Benchmark
+    public List<Link> linkSinglePass() {
+        return parser.parseLink(Collections.singletonList(LINK));
+    }
+
+    @Benchmark
+    public Object linkGrammar() {
+        final LinkLexer lexer = new LinkLexer(CharStreams.fromString(LINK));
+        return new LinkParser(new CommonTokenStream(lexer)).linkHeader();
+    }
+
+    @Benchmark
+    public WwwAuthenticate wwwAuthenticateSinglePass() {
+        return parser.parseWwwAuthenticate(Collections.singletonList(WWW_AUTHENTICATE));
+    }
+
+    @Benchmark
+    public Object wwwAuthenticateGrammar() {
+        final WwwAuthenticateLexer lexer = new WwwAuthenticateLexer(CharStreams.fromString(WWW_AUTHENTICATE));
+        return new WwwAuthenticateParser(new CommonTokenStream(lexer)).wwwAuthenticate();
+    }
+
+    @Benchmark
+    public WacAllow wacAllowSinglePass() {
+        return parser.parseWacAllow(Collections.singletonList(WAC_ALLOW));
+    }
+
+    @Benchmark
+    public Object wacAllowGrammar() {
+        final WacAllowLexer lexer = new WacAllowLexer(CharStreams.fromString(WAC_ALLOW));
+        return new WacAllowParser(new CommonTokenStream(lexer)).wacAllow();
+    }
+}
@@ -22,6 +22,7 @@ package com.inrupt.client.quarkus;
 
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.openid.OpenIdSession;
+import com.inrupt.client.openid.SessionRegistry;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -34,16 +35,19 @@ import org.eclipse.microprofile.jwt.JsonWebToken;
  */
 public final class SessionUtils {
 
+    private static final SessionRegistry REGISTRY = new SessionRegistry();
+
     /**
      * Convert a Quarkus (Microprofile) {@link JsonWebToken} to a {@link Session} object.
      *
-     * <p>This method uses the {@link OpenIdSession} library to create a Session
+     * <p>This method uses the {@link OpenIdSession} library to create a Session. Sessions are reused
+     * for subsequent calls with the same, unexpired ID token.
      *
      * @param jwt a JSON Web Token object
      * @return the session, if present and unexpired
      */
     public static Optional<Session> asSession(final JsonWebToken jwt) {
-        return asSession(jwt, OpenIdSession::ofIdToken);
+        return asSession(jwt, token -> REGISTRY.get(token, OpenIdSession::ofIdToken));
     }
 
     /**
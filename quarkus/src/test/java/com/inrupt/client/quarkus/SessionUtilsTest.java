@@ -76,6 +76,16 @@ class SessionUtilsTest {
             assertEquals(Optional.of(URI.create(WEBID)), s.getPrincipal()));
     }
 
+    @Test
+    void testSessionReuse() {
+        final var token = generateIdToken("user", ISSUER, WEBID);
+        final var session1 = SessionUtils.asSession(token);
+        final var session2 = SessionUtils.asSession(token);
+        assertTrue(session1.isPresent());
+        assertSame(session1.get(), session2.get());
+        assertNotSame(session1.get(), SessionUtils.asSession(token, OpenIdSession::ofIdToken).get());
+    }
+
     static JsonWebToken generateIdToken(final String sub, final String issuer, final String webid) {
         try {
             final var jwk = PublicJsonWebKey.Factory
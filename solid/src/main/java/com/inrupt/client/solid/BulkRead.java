@@ -0,0 +1,184 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.Resource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A bulk read operation that keeps a bounded number of reads in flight.
+ *
+ * <p>A new read starts only when an earlier one completes, so at most {@code maxInFlight} requests are
+ * outstanding at any time. Results are passed to the consumer one at a time, either as they complete or,
+ * for ordered operations, in the order of the identifiers.
+ *
+ * @param <T> the resource type
+ */
+final class BulkRead<T extends Resource> {
+
+    private final Object lock = new Object();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final List<URI> identifiers;
+    private final Function<URI, CompletionStage<T>> reader;
+    private final Consumer<? super ReadResult<T>> consumer;
+    private final int maxInFlight;
+    private final List<ReadResult<T>> buffer;
+
+    // Guarded by the lock
+    private int limit;
+    private int started;
+    private int inFlight;
+    private int completed;
+    private int delivered;
+    private boolean launching;
+    private RuntimeException consumerError;
+
+    /**
+     * Create a bulk read operation.
+     *
+     * @param identifiers the resource identifiers
+     * @param reader the function that reads a single resource
+     * @param maxInFlight the maximum number of concurrent reads
+     * @param ordered whether results are delivered in the order of the identifiers
+     * @param consumer the consumer of read results
+     */
+    BulkRead(final List<URI> identifiers, final Function<URI, CompletionStage<T>> reader, final int maxInFlight,
+            final boolean ordered, final Consumer<? super ReadResult<T>> consumer) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of in-flight reads must be at least one");
+        }
+        this.identifiers = Objects.requireNonNull(identifiers, "Identifiers may not be null!");
+        this.reader = Objects.requireNonNull(reader, "Reader may not be null!");
+        this.consumer = Objects.requireNonNull(consumer, "Consumer may not be null!");
+        this.maxInFlight = maxInFlight;
+        this.limit = identifiers.size();
+        this.buffer = ordered ? new ArrayList<>() : null;
+        if (ordered) {
+            for (int i = 0; i < identifiers.size(); i++) {
+                buffer.add(null);
+            }
+        }
+    }
+
+    /**
+     * Start the bulk read operation.
+     *
+     * @return the next stage of completion, which completes once every result has been delivered
+     */
+    CompletionStage<Void> start() {
+        if (identifiers.isEmpty()) {
+            completion.complete(null);
+        } else {
+            launch();
+        }
+        return completion;
+    }
+
+    void launch() {
+        synchronized (lock) {
+            // A read that completes synchronously re-enters here, so only one caller runs the loop
+            if (launching) {
+                return;
+            }
+            launching = true;
+        }
+        while (true) {
+            final int index;
+            synchronized (lock) {
+                if (started == limit || inFlight == maxInFlight) {
+                    launching = false;
+                    return;
+                }
+                index = started++;
+                inFlight++;
+            }
+            read(index);
+        }
+    }
+
+    void read(final int index) {
+        final URI identifier = identifiers.get(index);
+        CompletionStage<T> stage;
+        try {
+            stage = reader.apply(identifier);
+        } catch (final RuntimeException ex) {
+            stage = CompletableFuture.failedFuture(ex);
+        }
+        stage.whenComplete((resource, error) -> complete(index, error == null
+                    ? ReadResult.of(identifier, resource) : ReadResult.failed(identifier, unwrap(error))));
+    }
+
+    void complete(final int index, final ReadResult<T> result) {
+        final boolean finished;
+        synchronized (lock) {
+            inFlight--;
+            completed++;
+            if (buffer == null) {
+                deliver(result);
+            } else {
+                buffer.set(index, result);
+                while (delivered < buffer.size() && buffer.get(delivered) != null) {
+                    deliver(buffer.set(delivered, null));
+                }
+            }
+            finished = completed == limit;
+        }
+
+        if (finished) {
+            if (consumerError != null) {
+                completion.completeExceptionally(consumerError);
+            } else {
+                completion.complete(null);
+            }
+        } else {
+            launch();
+        }
+    }
+
+    void deliver(final ReadResult<T> result) {
+        delivered++;
+        if (consumerError == null) {
+            try {
+                consumer.accept(result);
+            } catch (final RuntimeException ex) {
+                // Stop starting new reads and report the error once the outstanding reads complete
+                consumerError = ex;
+                limit = started;
+            }
+        }
+    }
+
+    static Throwable unwrap(final Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
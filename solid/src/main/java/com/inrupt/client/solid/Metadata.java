@@ -304,8 +304,7 @@ public class Metadata {
     public static Metadata of(final URI identifier, final Headers headers) {
         // Gather metadata from HTTP headers
         final Metadata.Builder metadata = Metadata.newBuilder();
-        headers.allValues("Link").stream()
-            .flatMap(l -> Headers.Link.parse(l).stream())
+        headers.links()
             .forEach(link -> {
                 if (link.getParameter("rel").contains("type")) {
                     if ((link.getUri().equals(PIM.Storage))) {
@@ -319,10 +318,7 @@ public class Metadata {
                 }
             });
 
-        headers.allValues("WAC-Allow").stream()
-            .map(Headers.WacAllow::parse)
-            .map(Headers.WacAllow::getAccessParams)
-            .flatMap(p -> p.entrySet().stream())
+        headers.wacAllow().getAccessParams().entrySet()
             .forEach(metadata::wacAllow);
 
         headers.allValues("Allow").stream()
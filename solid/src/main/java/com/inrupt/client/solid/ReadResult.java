@@ -0,0 +1,98 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.Resource;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The outcome of reading a single resource as part of a bulk read operation.
+ *
+ * <p>A result holds either the resource or the error that prevented it from being read.
+ *
+ * @param <T> the resource type
+ */
+public final class ReadResult<T extends Resource> {
+
+    private final URI identifier;
+    private final T resource;
+    private final Throwable error;
+
+    private ReadResult(final URI identifier, final T resource, final Throwable error) {
+        this.identifier = Objects.requireNonNull(identifier, "Identifier may not be null!");
+        this.resource = resource;
+        this.error = error;
+    }
+
+    /**
+     * Get the identifier of the requested resource.
+     *
+     * @return the resource identifier
+     */
+    public URI getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Get the resource, if it was read successfully.
+     *
+     * @return the resource, if present
+     */
+    public Optional<T> getResource() {
+        return Optional.ofNullable(resource);
+    }
+
+    /**
+     * Get the error, if the resource could not be read.
+     *
+     * <p>HTTP errors are reported as a {@link SolidClientException}.
+     *
+     * @return the error, if present
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * Indicate whether the resource was read successfully.
+     *
+     * @return true if the resource was read
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadResult{identifier=" + identifier + ", success=" + isSuccess() + "}";
+    }
+
+    static <T extends Resource> ReadResult<T> of(final URI identifier, final T resource) {
+        return new ReadResult<>(identifier, resource, null);
+    }
+
+    static <T extends Resource> ReadResult<T> failed(final URI identifier, final Throwable error) {
+        return new ReadResult<>(identifier, null, Objects.requireNonNull(error, "Error may not be null!"));
+    }
+}
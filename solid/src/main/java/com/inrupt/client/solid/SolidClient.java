@@ -22,18 +22,26 @@ package com.inrupt.client.solid;
 
 import com.inrupt.client.*;
 import com.inrupt.client.auth.Session;
+import com.inrupt.client.util.IOUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.commons.rdf.api.Dataset;
@@ -44,6 +52,7 @@ import org.apache.commons.rdf.api.Dataset;
 public class SolidClient {
 
     static final Headers EMPTY_HEADERS = Headers.of(Collections.emptyMap());
+    static final long MAX_BUFFERED_QUADS = 10_000;
 
     private static final String USER_AGENT = "User-Agent";
     private static final String ACCEPT = "Accept";
@@ -52,14 +61,28 @@ public class SolidClient {
     private static final String TEXT_TURTLE = "text/turtle";
     private static final String WILDCARD = "*";
 
+    /**
+     * The default maximum number of concurrent requests for bulk read operations.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
     private final Client client;
     private final Headers defaultHeaders;
     private final boolean fetchAfterWrite;
+    private final Executor executor;
+    private final boolean trackChanges;
 
     SolidClient(final Client client, final Headers headers, final boolean fetchAfterWrite) {
+        this(client, headers, fetchAfterWrite, null, false);
+    }
+
+    SolidClient(final Client client, final Headers headers, final boolean fetchAfterWrite,
+            final Executor executor, final boolean trackChanges) {
         this.client = Objects.requireNonNull(client, "Client may not be null!");
         this.defaultHeaders = Objects.requireNonNull(headers, "Headers may not be null!");
         this.fetchAfterWrite = fetchAfterWrite;
+        this.executor = executor;
+        this.trackChanges = trackChanges;
     }
 
     /**
@@ -70,7 +93,8 @@ public class SolidClient {
      */
     public SolidClient session(final Session session) {
         Objects.requireNonNull(session, "Session may not be null!");
-        return new SolidClient(client.session(session), defaultHeaders, fetchAfterWrite);
+        return new SolidClient(client.session(session), defaultHeaders, fetchAfterWrite, executor,
+                trackChanges);
     }
 
     /**
@@ -122,26 +146,28 @@ public class SolidClient {
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
         final Request request = builder.build();
+        // The body is parsed as it arrives, on a thread that may block, rather than on a network thread
         return client.send(
                 request,
-                Response.BodyHandlers.ofByteArray()
-            ).thenApply(response -> {
-                if (!isSuccess(response.statusCode())) {
-                    throw SolidClientException.handle(
-                        "Reading resource failed.",
-                        response.uri(),
-                        response.statusCode(),
-                        response.headers(),
-                        new String(response.body(), StandardCharsets.UTF_8)
-                    );
-                }
+                Response.BodyHandlers.ofInputStream()
+            ).thenApplyAsync(response -> {
+                try (final InputStream input = response.body()) {
+                    if (!isSuccess(response.statusCode())) {
+                        throw SolidClientException.handle(
+                            "Reading resource failed.",
+                            response.uri(),
+                            response.statusCode(),
+                            response.headers(),
+                            new String(input.readAllBytes(), StandardCharsets.UTF_8)
+                        );
+                    }
 
-                final String contentType = response.headers().firstValue(CONTENT_TYPE)
-                    .orElse("application/octet-stream");
-                try {
+                    final String contentType = response.headers().firstValue(CONTENT_TYPE)
+                        .orElse("application/octet-stream");
                     // Check that this is an RDFSoure
                     if (RDFSource.class.isAssignableFrom(clazz)) {
-                        final Dataset dataset = SolidResourceHandlers.buildDataset(contentType, response.body(),
+                        // Parse the body as it arrives from the network rather than buffering it first
+                        final Dataset dataset = SolidResourceHandlers.buildDataset(contentType, input,
                                 request.uri().toString()).orElse(null);
                         final T obj = construct(request.uri(), clazz, dataset, response.headers());
                         final ValidationResult res = RDFSource.class.cast(obj).validate();
@@ -150,17 +176,85 @@ public class SolidClient {
                                 "Unable to map resource into type: [" + clazz.getSimpleName() + "] ",
                                  res.getResults());
                         }
+                        if (trackChanges && patchSyntax(obj).isPresent()) {
+                            // Track the loaded state so that a later update can send only the changes
+                            ((SolidRDFSource) obj).snapshot();
+                        }
                         return obj;
                     // Otherwise, create a non-RDF-bearing resource
                     } else {
                         return construct(request.uri(), clazz, contentType,
-                                new ByteArrayInputStream(response.body()), response.headers());
+                                new ByteArrayInputStream(input.readAllBytes()), response.headers());
                     }
+                } catch (final IOException ex) {
+                    throw new SolidResourceException("Unable to read resource " + request.uri(), ex);
                 } catch (final ReflectiveOperationException ex) {
                     throw new SolidResourceException("Unable to read resource into type " + clazz.getName(),
                             ex);
                 }
-            });
+            }, blockingExecutor());
+    }
+
+    /**
+     * Read a collection of Solid Resources into a particular defined type.
+     *
+     * <p>At most {@link #DEFAULT_MAX_IN_FLIGHT} requests are outstanding at any time. A failure to read one
+     * resource does not affect the others: each result holds either the resource or the error.
+     *
+     * @param identifiers the identifiers
+     * @param clazz the desired resource type
+     * @param <T> the resource type
+     * @return the next stage of completion, including the results in the order of the identifiers
+     */
+    public <T extends Resource> CompletionStage<List<ReadResult<T>>> readAll(final Collection<URI> identifiers,
+            final Class<T> clazz) {
+        return readAll(identifiers, EMPTY_HEADERS, clazz, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Read a collection of Solid Resources into a particular defined type.
+     *
+     * <p>A failure to read one resource does not affect the others: each result holds either the resource
+     * or the error.
+     *
+     * @param identifiers the identifiers
+     * @param headers headers to add to each request
+     * @param clazz the desired resource type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param <T> the resource type
+     * @return the next stage of completion, including the results in the order of the identifiers
+     */
+    public <T extends Resource> CompletionStage<List<ReadResult<T>>> readAll(final Collection<URI> identifiers,
+            final Headers headers, final Class<T> clazz, final int maxInFlight) {
+        final List<ReadResult<T>> results = new ArrayList<>(identifiers.size());
+        return readAll(identifiers, headers, clazz, maxInFlight, true, results::add).thenApply(x -> results);
+    }
+
+    /**
+     * Read a collection of Solid Resources into a particular defined type, passing each result to a consumer.
+     *
+     * <p>At most {@code maxInFlight} requests are outstanding at any time, and a new request is only sent
+     * once an earlier one completes. The consumer is called by one thread at a time. If the consumer throws an
+     * exception, no further requests are sent and the returned stage completes with that exception.
+     *
+     * @param identifiers the identifiers
+     * @param headers headers to add to each request
+     * @param clazz the desired resource type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param ordered whether results are passed to the consumer in the order of the identifiers, rather than
+     *                as they complete
+     * @param consumer the consumer of results
+     * @param <T> the resource type
+     * @return the next stage of completion, once every result has been passed to the consumer
+     */
+    public <T extends Resource> CompletionStage<Void> readAll(final Collection<URI> identifiers,
+            final Headers headers, final Class<T> clazz, final int maxInFlight, final boolean ordered,
+            final Consumer<? super ReadResult<T>> consumer) {
+        Objects.requireNonNull(identifiers, "Identifiers may not be null!");
+        Objects.requireNonNull(headers, "Headers may not be null!");
+        Objects.requireNonNull(clazz, "Resource type may not be null!");
+        return new BulkRead<T>(new ArrayList<>(identifiers), identifier -> read(identifier, headers, clazz),
+                maxInFlight, ordered, consumer).start();
     }
 
     /**
@@ -183,7 +277,12 @@ public class SolidClient {
      * @return the next stage of completion
      */
     public <T extends Resource> CompletionStage<T> create(final T resource, final Headers headers) {
-        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(cast(resource));
+        final Request.Builder builder = Request.newBuilder(resource.getIdentifier());
+        try {
+            builder.PUT(cast(resource, blockingExecutor()));
+        } catch (final SolidResourceException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
 
         decorateHeaders(builder, defaultHeaders);
         decorateHeaders(builder, headers);
@@ -193,6 +292,7 @@ public class SolidClient {
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
         return client.send(builder.build(), Response.BodyHandlers.ofByteArray())
+            .exceptionally(SolidClient::handleSerializationError)
             .thenCompose(handleResponse(resource, headers, "Unable to create resource"));
     }
 
@@ -210,22 +310,48 @@ public class SolidClient {
     /**
      * Update an existing Solid Resource.
      *
+     * <p>When this client tracks changes, a {@link SolidRDFSource} was read by this client and the server
+     * accepts an N3 Patch or a SPARQL Update, only the changes made since the resource was read or last updated
+     * are sent, using a PATCH request. Otherwise, the full representation of the resource is sent using a PUT
+     * request.
+     *
      * @param resource the resource
      * @param headers headers to add to this request
      * @param <T> the resource type
      * @return the next stage of completion
      */
     public <T extends Resource> CompletionStage<T> update(final T resource, final Headers headers) {
-        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(cast(resource));
+        final Request.Builder builder = Request.newBuilder(resource.getIdentifier());
+        final Optional<SolidPatch> changes = resource instanceof SolidRDFSource
+            ? ((SolidRDFSource) resource).diff() : Optional.empty();
+        final Optional<String> patchSyntax = changes.filter(patch -> !patch.isEmpty() && patch.isPatchable())
+            .flatMap(patch -> patchSyntax(resource));
+        if (patchSyntax.isPresent()) {
+            builder.PATCH(Request.BodyPublishers.ofString(changes.get().serialize(patchSyntax.get())));
+        } else {
+            try {
+                builder.PUT(cast(resource, blockingExecutor()));
+            } catch (final SolidResourceException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
 
         decorateHeaders(builder, defaultHeaders);
         decorateHeaders(builder, headers);
 
-        builder.setHeader(CONTENT_TYPE, resource.getContentType());
+        builder.setHeader(CONTENT_TYPE, patchSyntax.orElseGet(resource::getContentType));
         defaultHeaders.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
         return client.send(builder.build(), Response.BodyHandlers.ofByteArray())
+            .exceptionally(SolidClient::handleSerializationError)
+            .thenApply(res -> {
+                if (isSuccess(res.statusCode())) {
+                    // The remote resource now includes the changes that were computed for this request
+                    changes.ifPresent(patch -> ((SolidRDFSource) resource).advance(patch));
+                }
+                return res;
+            })
             .thenCompose(handleResponse(resource, headers, "Unable to update resource"));
     }
 
@@ -321,6 +447,8 @@ public class SolidClient {
         private Client builderClient;
         private Headers builderHeaders;
         private boolean builderFetchAfterWrite = true;
+        private Executor builderExecutor;
+        private boolean builderTrackChanges;
 
         Builder() {
         }
@@ -361,6 +489,38 @@ public class SolidClient {
             return this;
         }
 
+        /**
+         * Set the executor for blocking work, such as parsing RDF response bodies as they arrive and serializing
+         * large RDF resources into request bodies.
+         *
+         * <p>By default, this work runs on the shared
+         * {@linkplain com.inrupt.client.util.IOUtils#blockingExecutor() blocking executor}, which uses virtual
+         * threads on Java 21 and later.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder executor(final Executor executor) {
+            this.builderExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Set whether to track changes to RDF resources, so that updates send only the changes.
+         *
+         * <p>When enabled, each {@link SolidRDFSource} that is read from a server that accepts an N3 Patch or a
+         * SPARQL Update keeps a copy of its original triples, roughly doubling the memory that the resource uses.
+         * An update then sends a PATCH request with the triples that were added and removed, rather than the
+         * full representation. This is disabled by default.
+         *
+         * @param track whether to track changes to RDF resources
+         * @return this builder
+         */
+        public Builder trackChanges(final boolean track) {
+            this.builderTrackChanges = track;
+            return this;
+        }
+
         /**
          * Build the {@link SolidClient}.
          *
@@ -369,7 +529,7 @@ public class SolidClient {
         public SolidClient build() {
             final Client c = builderClient == null ? ClientProvider.getClient() : builderClient;
             final Headers h = builderHeaders == null ? EMPTY_HEADERS : builderHeaders;
-            return new SolidClient(c, h, builderFetchAfterWrite);
+            return new SolidClient(c, h, builderFetchAfterWrite, builderExecutor, builderTrackChanges);
         }
     }
 
@@ -427,6 +587,20 @@ public class SolidClient {
             .newInstance(identifier, contentType, entity);
     }
 
+    /**
+     * Select a PATCH syntax for sending the changes to a resource since it was read.
+     *
+     * <p>A resource is patched only when it was read by a client that tracks changes, the server advertises
+     * a supported PATCH syntax and the changes can be expressed as a non-empty patch. Otherwise, the full
+     * representation is sent with PUT.
+     */
+    static Optional<String> patchSyntax(final Resource resource) {
+        if (resource instanceof SolidRDFSource) {
+            return SolidPatch.syntax(((SolidRDFSource) resource).getMetadata().getAllowedPatchSyntaxes());
+        }
+        return Optional.empty();
+    }
+
     static void decorateHeaders(final Request.Builder builder, final Headers headers) {
         for (final Map.Entry<String, List<String>> entry : headers.asMap().entrySet()) {
             for (final String item : entry.getValue()) {
@@ -435,16 +609,102 @@ public class SolidClient {
         }
     }
 
+    /**
+     * A lazily serialized entity, for which serialization errors are reported as a {@link SolidResourceException}.
+     */
+    static final class EntityStream extends FilterInputStream {
+        private final Resource resource;
+
+        EntityStream(final Resource resource, final InputStream entity) {
+            super(entity);
+            this.resource = resource;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (final IOException ex) {
+                throw serializationError(ex);
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (final IOException ex) {
+                throw serializationError(ex);
+            }
+        }
+
+        IOException serializationError(final IOException ex) {
+            return new IOException(SolidClient.serializationError(resource, ex));
+        }
+    }
+
+    Executor blockingExecutor() {
+        return executor != null ? executor : IOUtils.blockingExecutor();
+    }
+
     static boolean isSuccess(final int statusCode) {
         return statusCode >= 200 && statusCode < 300;
     }
 
-    static Request.BodyPublisher cast(final Resource resource) {
+    static Request.BodyPublisher cast(final Resource resource, final Executor executor) {
+        if (resource instanceof RDFSource) {
+            final RDFSource source = (RDFSource) resource;
+            if (DEFAULT_ENTITY.get(source.getClass()) && source.size() > MAX_BUFFERED_QUADS) {
+                // A large RDF resource is serialized on demand, which allows the request to be replayed
+                return Request.BodyPublishers.ofInputStream(() ->
+                        new EntityStream(resource, getEntity(resource, executor)), -1);
+            }
+            // Other RDF resources are serialized in memory, so that they are sent with a declared length
+            try (final InputStream entity = getEntity(resource, null)) {
+                return Request.BodyPublishers.ofByteArray(entity.readAllBytes());
+            } catch (final IOException ex) {
+                throw serializationError(resource, ex);
+            }
+        }
+        return Request.BodyPublishers.ofInputStream(getEntity(resource, null));
+    }
+
+    static SolidResourceException serializationError(final Resource resource, final Throwable cause) {
+        return new SolidResourceException("Unable to serialize " + resource.getClass().getName() +
+                " into Solid Resource", cause);
+    }
+
+    static <T> T handleSerializationError(final Throwable err) {
+        Throwable cause = err;
+        while (cause != null) {
+            if (cause instanceof SolidResourceException) {
+                throw (SolidResourceException) cause;
+            }
+            cause = cause.getCause();
+        }
+        throw err instanceof CompletionException ? (CompletionException) err : new CompletionException(err);
+    }
+
+    static final ClassValue<Boolean> DEFAULT_ENTITY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return RDFSource.class.equals(type.getMethod("getEntity").getDeclaringClass());
+            } catch (final NoSuchMethodException ex) {
+                return false;
+            }
+        }
+    };
+
+    static InputStream getEntity(final Resource resource, final Executor executor) {
         try {
-            return Request.BodyPublishers.ofInputStream(resource.getEntity());
+            // A subclass that overrides getEntity() controls its own serialization
+            if (executor != null && resource instanceof RDFSource && DEFAULT_ENTITY.get(resource.getClass())) {
+                return ((RDFSource) resource).getEntityStream(executor);
+            }
+            return resource.getEntity();
         } catch (final IOException ex) {
-            throw new SolidResourceException("Unable to serialize " + resource.getClass().getName() +
-                    " into Solid Resource", ex);
+            throw serializationError(resource, ex);
         }
     }
 }
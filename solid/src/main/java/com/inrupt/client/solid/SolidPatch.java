@@ -0,0 +1,187 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * The difference between two states of a resource dataset, expressed as a PATCH request body.
+ */
+final class SolidPatch {
+
+    static final String N3_PATCH = "text/n3";
+    static final String SPARQL_UPDATE = "application/sparql-update";
+
+    private final List<Quad> deletes;
+    private final List<Quad> inserts;
+
+    SolidPatch(final List<Quad> deletes, final List<Quad> inserts) {
+        this.deletes = deletes;
+        this.inserts = inserts;
+    }
+
+    /**
+     * Compute the difference between a snapshot and the current state of a dataset.
+     *
+     * @param snapshot the quads of the dataset as they were loaded
+     * @param dataset the current dataset
+     * @return the changes
+     */
+    static SolidPatch diff(final Set<Quad> snapshot, final Dataset dataset) {
+        final Set<Quad> current;
+        try (final var stream = dataset.stream()) {
+            current = stream.collect(Collectors.toCollection(HashSet::new));
+        }
+
+        final List<Quad> deletes = new ArrayList<>();
+        for (final Quad quad : snapshot) {
+            if (!current.contains(quad)) {
+                deletes.add(quad);
+            }
+        }
+
+        final List<Quad> inserts = new ArrayList<>();
+        for (final Quad quad : current) {
+            if (!snapshot.contains(quad)) {
+                inserts.add(quad);
+            }
+        }
+
+        return new SolidPatch(Collections.unmodifiableList(deletes), Collections.unmodifiableList(inserts));
+    }
+
+    /**
+     * Select a PATCH syntax from those supported by a server.
+     *
+     * @param syntaxes the supported PATCH MIME types
+     * @return the preferred syntax, if any is supported
+     */
+    static Optional<String> syntax(final Set<String> syntaxes) {
+        if (syntaxes.contains(N3_PATCH)) {
+            return Optional.of(N3_PATCH);
+        } else if (syntaxes.contains(SPARQL_UPDATE)) {
+            return Optional.of(SPARQL_UPDATE);
+        }
+        return Optional.empty();
+    }
+
+    boolean isEmpty() {
+        return deletes.isEmpty() && inserts.isEmpty();
+    }
+
+    /**
+     * Indicate whether these changes can be sent as a PATCH.
+     *
+     * <p>Changes that involve blank nodes or named graphs cannot be addressed reliably in a PATCH body.
+     *
+     * @return true if the changes can be expressed as a patch
+     */
+    boolean isPatchable() {
+        return isPatchable(deletes) && isPatchable(inserts);
+    }
+
+    /**
+     * Apply these changes to a snapshot.
+     *
+     * @param snapshot the snapshot, which is modified in place
+     */
+    void applyTo(final Set<Quad> snapshot) {
+        deletes.forEach(snapshot::remove);
+        snapshot.addAll(inserts);
+    }
+
+    List<Quad> getDeletes() {
+        return deletes;
+    }
+
+    List<Quad> getInserts() {
+        return inserts;
+    }
+
+    /**
+     * Serialize this patch.
+     *
+     * @param syntax the PATCH syntax, either {@link #N3_PATCH} or {@link #SPARQL_UPDATE}
+     * @return the request body
+     */
+    String serialize(final String syntax) {
+        final StringBuilder builder = new StringBuilder();
+        if (N3_PATCH.equals(syntax)) {
+            builder.append("@prefix solid: <http://www.w3.org/ns/solid/terms#>.\n")
+                .append("_:patch a solid:InsertDeletePatch");
+            if (!deletes.isEmpty()) {
+                builder.append(";\n  solid:deletes {\n");
+                appendTriples(builder, deletes);
+                builder.append("  }");
+            }
+            if (!inserts.isEmpty()) {
+                builder.append(";\n  solid:inserts {\n");
+                appendTriples(builder, inserts);
+                builder.append("  }");
+            }
+            builder.append(".\n");
+        } else {
+            if (!deletes.isEmpty()) {
+                builder.append("DELETE DATA {\n");
+                appendTriples(builder, deletes);
+                builder.append("}");
+            }
+            if (!inserts.isEmpty()) {
+                if (!deletes.isEmpty()) {
+                    builder.append(";\n");
+                }
+                builder.append("INSERT DATA {\n");
+                appendTriples(builder, inserts);
+                builder.append("}");
+            }
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+
+    static void appendTriples(final StringBuilder builder, final List<Quad> quads) {
+        for (final Quad quad : quads) {
+            builder.append("    ").append(quad.getSubject().ntriplesString())
+                .append(' ').append(quad.getPredicate().ntriplesString())
+                .append(' ').append(quad.getObject().ntriplesString()).append(" .\n");
+        }
+    }
+
+    static boolean isPatchable(final List<Quad> quads) {
+        for (final Quad quad : quads) {
+            if (quad.getGraphName().isPresent() || quad.getSubject() instanceof BlankNode
+                    || quad.getObject() instanceof BlankNode) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -24,8 +24,13 @@ import com.inrupt.client.Headers;
 import com.inrupt.client.RDFSource;
 
 import java.net.URI;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Quad;
 
 /**
  * A Solid Resource Object.
@@ -33,6 +38,7 @@ import org.apache.commons.rdf.api.Dataset;
 public class SolidRDFSource extends RDFSource implements SolidResource {
 
     private final Metadata metadata;
+    private Set<Quad> snapshot;
 
     /**
      * Create a Solid resource.
@@ -73,4 +79,38 @@ public class SolidRDFSource extends RDFSource implements SolidResource {
     public Metadata getMetadata() {
         return metadata;
     }
+
+    /**
+     * Record the current state of the dataset, against which later changes can be computed.
+     */
+    synchronized void snapshot() {
+        try (final var stream = stream()) {
+            this.snapshot = stream.collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    /**
+     * Compute the changes to the dataset since the last snapshot.
+     *
+     * @return the changes, if a snapshot exists
+     */
+    synchronized Optional<SolidPatch> diff() {
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(SolidPatch.diff(snapshot, this));
+    }
+
+    /**
+     * Advance the snapshot by changes that have been stored remotely.
+     *
+     * <p>Changes made to the dataset after these changes were computed remain pending.
+     *
+     * @param changes the changes that were stored
+     */
+    synchronized void advance(final SolidPatch changes) {
+        if (snapshot != null) {
+            changes.applyTo(snapshot);
+        }
+    }
 }
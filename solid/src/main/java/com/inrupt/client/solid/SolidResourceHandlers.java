@@ -28,6 +28,7 @@ import com.inrupt.client.spi.ServiceProvider;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 import org.apache.commons.rdf.api.Dataset;
@@ -51,8 +52,7 @@ public final class SolidResourceHandlers {
             final Headers headers = responseInfo.headers();
 
             return headers.firstValue(CONTENT_TYPE)
-                .flatMap(contentType ->
-                        buildDataset(contentType, responseInfo.body().array(), responseInfo.uri().toString()))
+                .flatMap(contentType -> buildDataset(contentType, responseInfo))
                 .map(dataset -> new SolidRDFSource(responseInfo.uri(), dataset, headers))
                 .orElseGet(() -> new SolidRDFSource(responseInfo.uri(), null, headers));
         };
@@ -67,24 +67,35 @@ public final class SolidResourceHandlers {
         return responseInfo -> {
             final Headers headers = responseInfo.headers();
             return headers.firstValue(CONTENT_TYPE)
-                .flatMap(contentType ->
-                        buildDataset(contentType, responseInfo.body().array(), responseInfo.uri().toString()))
+                .flatMap(contentType -> buildDataset(contentType, responseInfo))
                 .map(dataset -> new SolidContainer(responseInfo.uri(), dataset, headers))
                 .orElseGet(() -> new SolidContainer(responseInfo.uri(), null, headers));
         };
     }
 
-    static Optional<Dataset> buildDataset(final String contentType, final byte[] data, final String baseUri) {
+    static Optional<Dataset> buildDataset(final String contentType, final Response.ResponseInfo responseInfo) {
         return RDFSyntax.byMediaType(contentType)
             .map(syntax -> {
-                try (final InputStream input = new ByteArrayInputStream(data)) {
-                    return service.toDataset(syntax, input, baseUri);
-                } catch (final IOException ex) {
-                    throw new SolidResourceException("Error parsing Solid Container as RDF", ex);
-                }
+                // A body handler may run on a network thread, which must not block while the body arrives, so
+                // the body is read before it is parsed
+                final ByteBuffer body = responseInfo.body();
+                return parse(syntax, new ByteArrayInputStream(body.array(), body.arrayOffset() + body.position(),
+                            body.remaining()), responseInfo.uri().toString());
             });
     }
 
+    static Optional<Dataset> buildDataset(final String contentType, final InputStream input, final String baseUri) {
+        return RDFSyntax.byMediaType(contentType).map(syntax -> parse(syntax, input, baseUri));
+    }
+
+    static Dataset parse(final RDFSyntax syntax, final InputStream input, final String baseUri) {
+        try {
+            return service.toDataset(syntax, input, baseUri);
+        } catch (final IOException ex) {
+            throw new SolidResourceException("Error parsing Solid Container as RDF", ex);
+        }
+    }
+
     private SolidResourceHandlers() {
         // Prevent instantiation
     }
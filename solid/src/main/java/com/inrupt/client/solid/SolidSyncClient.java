@@ -30,9 +30,12 @@ import com.inrupt.client.Response;
 import com.inrupt.client.auth.Session;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * A high-level synchronous client for interacting with Solid resources.
@@ -41,8 +44,9 @@ public class SolidSyncClient {
 
     private final SolidClient client;
 
-    SolidSyncClient(final Client client, final Headers headers, final boolean fetchAfterWrite) {
-        this(new SolidClient(client, headers, fetchAfterWrite));
+    SolidSyncClient(final Client client, final Headers headers, final boolean fetchAfterWrite,
+            final Executor executor, final boolean trackChanges) {
+        this(new SolidClient(client, headers, fetchAfterWrite, executor, trackChanges));
     }
 
     SolidSyncClient(final SolidClient client) {
@@ -85,6 +89,22 @@ public class SolidSyncClient {
         return awaitAsync(client.read(identifier, clazz));
     }
 
+    /**
+     * Read a collection of Solid Resources into a particular defined type.
+     *
+     * <p>At most {@link SolidClient#DEFAULT_MAX_IN_FLIGHT} requests are outstanding at any time. A failure to
+     * read one resource does not affect the others: each result holds either the resource or the error.
+     *
+     * @param identifiers the identifiers
+     * @param clazz the desired resource type
+     * @param <T> the resource type
+     * @return the results, in the order of the identifiers
+     */
+    public <T extends Resource> List<ReadResult<T>> readAll(final Collection<URI> identifiers,
+            final Class<T> clazz) {
+        return awaitAsync(client.readAll(identifiers, clazz));
+    }
+
     /**
      * Create a new Solid Resource.
      *
@@ -146,6 +166,8 @@ public class SolidSyncClient {
         private Client builderClient;
         private Headers builderHeaders;
         private boolean builderFetchAfterWrite = true;
+        private Executor builderExecutor;
+        private boolean builderTrackChanges;
 
         Builder() {
         }
@@ -186,6 +208,39 @@ public class SolidSyncClient {
             return this;
         }
 
+        /**
+         * Set the executor for blocking work, such as parsing RDF response bodies as they arrive and serializing
+         * large RDF resources into request bodies.
+         *
+         * <p>By default, this work runs on the shared
+         * {@linkplain com.inrupt.client.util.IOUtils#blockingExecutor() blocking executor}, which uses virtual
+         * threads on Java 21 and later. Callers of a synchronous client may likewise run on
+         * virtual threads, since each call only blocks the calling thread.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder executor(final Executor executor) {
+            this.builderExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Set whether to track changes to RDF resources, so that updates send only the changes.
+         *
+         * <p>When enabled, each {@link SolidRDFSource} that is read from a server that accepts an N3 Patch or a
+         * SPARQL Update keeps a copy of its original triples, roughly doubling the memory that the resource uses.
+         * An update then sends a PATCH request with the triples that were added and removed, rather than the
+         * full representation. This is disabled by default.
+         *
+         * @param track whether to track changes to RDF resources
+         * @return this builder
+         */
+        public Builder trackChanges(final boolean track) {
+            this.builderTrackChanges = track;
+            return this;
+        }
+
         /**
          * Build the {@link SolidSyncClient}.
          *
@@ -194,7 +249,7 @@ public class SolidSyncClient {
         public SolidSyncClient build() {
             final Client c = builderClient == null ? ClientProvider.getClient() : builderClient;
             final Headers h = builderHeaders == null ? SolidClient.EMPTY_HEADERS : builderHeaders;
-            return new SolidSyncClient(c, h, builderFetchAfterWrite);
+            return new SolidSyncClient(c, h, builderFetchAfterWrite, builderExecutor, builderTrackChanges);
         }
     }
 
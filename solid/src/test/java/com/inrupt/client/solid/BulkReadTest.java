@@ -0,0 +1,152 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Headers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BulkReadTest {
+
+    static final List<URI> IDENTIFIERS = IntStream.range(0, 5)
+        .mapToObj(i -> URI.create("https://storage.example/resource" + i)).collect(Collectors.toList());
+
+    @Test
+    void testBoundedOrdered() {
+        final Map<URI, CompletableFuture<SolidResourceReference>> pending = new HashMap<>();
+        final List<URI> delivered = new ArrayList<>();
+        final CompletionStage<Void> done = new BulkRead<SolidResourceReference>(IDENTIFIERS, uri -> {
+            final CompletableFuture<SolidResourceReference> future = new CompletableFuture<>();
+            pending.put(uri, future);
+            return future;
+        }, 2, true, result -> delivered.add(result.getIdentifier())).start();
+
+        assertEquals(2, pending.size());
+
+        // Complete out of order: nothing is delivered until the first result is available
+        pending.get(IDENTIFIERS.get(1)).complete(reference(IDENTIFIERS.get(1)));
+        assertTrue(delivered.isEmpty());
+        assertEquals(3, pending.size());
+
+        pending.get(IDENTIFIERS.get(0)).completeExceptionally(new NotFoundException("missing",
+                    IDENTIFIERS.get(0), Headers.empty(), null));
+        assertEquals(IDENTIFIERS.subList(0, 2), delivered);
+        assertEquals(4, pending.size());
+
+        pending.get(IDENTIFIERS.get(3)).complete(reference(IDENTIFIERS.get(3)));
+        pending.get(IDENTIFIERS.get(2)).complete(reference(IDENTIFIERS.get(2)));
+        pending.get(IDENTIFIERS.get(4)).complete(reference(IDENTIFIERS.get(4)));
+
+        assertEquals(IDENTIFIERS, delivered);
+        assertTrue(done.toCompletableFuture().isDone());
+    }
+
+    @Test
+    void testUnorderedResults() {
+        final Map<URI, CompletableFuture<SolidResourceReference>> pending = new HashMap<>();
+        final List<ReadResult<SolidResourceReference>> delivered = new ArrayList<>();
+        final CompletionStage<Void> done = new BulkRead<SolidResourceReference>(IDENTIFIERS.subList(0, 2), uri -> {
+            final CompletableFuture<SolidResourceReference> future = new CompletableFuture<>();
+            pending.put(uri, future);
+            return future;
+        }, 4, false, delivered::add).start();
+
+        pending.get(IDENTIFIERS.get(1)).completeExceptionally(new IllegalStateException("failure"));
+        assertEquals(1, delivered.size());
+        assertFalse(delivered.get(0).isSuccess());
+        assertInstanceOf(IllegalStateException.class, delivered.get(0).getError().orElse(null));
+        assertFalse(done.toCompletableFuture().isDone());
+
+        pending.get(IDENTIFIERS.get(0)).complete(reference(IDENTIFIERS.get(0)));
+        assertEquals(2, delivered.size());
+        assertTrue(delivered.get(1).isSuccess());
+        assertEquals(IDENTIFIERS.get(0), delivered.get(1).getResource().map(SolidResourceReference::getIdentifier)
+                .orElse(null));
+        assertTrue(done.toCompletableFuture().isDone());
+    }
+
+    @Test
+    void testSynchronousReads() {
+        final AtomicInteger reads = new AtomicInteger();
+        final List<URI> identifiers = IntStream.range(0, 10_000)
+            .mapToObj(i -> URI.create("https://storage.example/resource" + i)).collect(Collectors.toList());
+
+        new BulkRead<SolidResourceReference>(identifiers, uri -> {
+            reads.incrementAndGet();
+            return CompletableFuture.completedFuture(reference(uri));
+        }, 1, true, result -> { }).start().toCompletableFuture().join();
+
+        assertEquals(identifiers.size(), reads.get());
+    }
+
+    @Test
+    void testConsumerError() {
+        final AtomicInteger reads = new AtomicInteger();
+        final CompletionStage<Void> done = new BulkRead<SolidResourceReference>(IDENTIFIERS, uri -> {
+            reads.incrementAndGet();
+            return CompletableFuture.completedFuture(reference(uri));
+        }, 1, false, result -> {
+            throw new IllegalArgumentException("consumer failure");
+        }).start();
+
+        final CompletionException err = assertThrows(CompletionException.class, done.toCompletableFuture()::join);
+        assertInstanceOf(IllegalArgumentException.class, err.getCause());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testReaderError() {
+        final List<ReadResult<SolidResourceReference>> delivered = new ArrayList<>();
+        new BulkRead<SolidResourceReference>(Arrays.asList(IDENTIFIERS.get(0)), uri -> {
+            throw new IllegalStateException("reader failure");
+        }, 1, true, delivered::add).start().toCompletableFuture().join();
+
+        assertEquals(1, delivered.size());
+        assertInstanceOf(IllegalStateException.class, delivered.get(0).getError().orElse(null));
+    }
+
+    @Test
+    void testEmptyAndInvalid() {
+        assertTrue(new BulkRead<SolidResourceReference>(new ArrayList<>(), uri -> null, 1, true, result -> { })
+                .start().toCompletableFuture().isDone());
+        assertThrows(IllegalArgumentException.class, () -> new BulkRead<SolidResourceReference>(IDENTIFIERS,
+                    uri -> null, 0, true, result -> { }));
+    }
+
+    static SolidResourceReference reference(final URI uri) {
+        return new SolidResourceReference(uri, null);
+    }
+}
@@ -40,9 +40,13 @@ import java.net.URI;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -171,6 +175,185 @@ class SolidClientTest {
         }).toCompletableFuture().join();
     }
 
+    @Test
+    void testCustomExecutor() {
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+        final SolidClient customClient = SolidClient.getClientBuilder().executor(executor)
+            .fetchAfterWrite(false).build();
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+
+        try (final Playlist playlist = customClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            // The response body is parsed by the executor
+            final int reads = tasks.get();
+            assertTrue(reads > 0);
+
+            // A small resource is serialized in memory
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+            assertEquals(reads, tasks.get());
+
+            // A large resource is serialized by the executor as it is sent
+            final IRI subject = rdf.createIRI(uri.toString());
+            final IRI predicate = rdf.createIRI("https://example.com/track");
+            for (int i = 0; i <= SolidClient.MAX_BUFFERED_QUADS; i++) {
+                playlist.add(null, subject, predicate, rdf.createLiteral(Integer.toString(i)));
+            }
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+            assertTrue(tasks.get() > reads);
+        }
+    }
+
+    @Test
+    void testBufferedEntity() {
+        final List<Long> lengths = Collections.synchronizedList(new ArrayList<>());
+        final Client recording = ClientProvider.getClientBuilder().interceptor(new Interceptor() {
+            @Override
+            public <T> CompletionStage<Response<T>> intercept(final Request request, final Chain<T> chain) {
+                request.bodyPublisher().filter(publisher -> "PUT".equals(request.method()))
+                    .ifPresent(publisher -> lengths.add(publisher.contentLength()));
+                return chain.proceed(request);
+            }
+        }).build();
+        final SolidClient customClient = SolidClient.getClientBuilder().client(recording)
+            .fetchAfterWrite(false).build();
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+
+        try (final Playlist playlist = customClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+        }
+        // A small resource is sent with a declared length rather than a chunked transfer
+        assertEquals(1, lengths.size());
+        assertTrue(lengths.get(0) > 0);
+    }
+
+    @Test
+    void testCustomEntityWithExecutor() throws IOException {
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        final SolidRDFSource custom = new SolidRDFSource(URI.create("https://example.test/custom")) {
+            @Override
+            public InputStream getEntity() {
+                return new ByteArrayInputStream("custom".getBytes(UTF_8));
+            }
+        };
+
+        // An overridden getEntity() is not bypassed by the executor
+        try (final InputStream entity = SolidClient.getEntity(custom, executor)) {
+            assertEquals("custom", new String(entity.readAllBytes(), UTF_8));
+        }
+        assertEquals(0, tasks.get());
+
+        try (final InputStream entity = SolidClient.getEntity(new SolidRDFSource(URI.create(
+                            "https://example.test/default")), executor)) {
+            entity.readAllBytes();
+        }
+        assertEquals(1, tasks.get());
+    }
+
+    static Client recordingClient(final List<String> requests) {
+        return ClientProvider.getClientBuilder().interceptor(new Interceptor() {
+            @Override
+            public <T> CompletionStage<Response<T>> intercept(final Request request, final Chain<T> chain) {
+                requests.add(request.method() + " " + request.headers().firstValue("Content-Type").orElse(""));
+                return chain.proceed(request);
+            }
+        }).build();
+    }
+
+    @Test
+    void testUpdateWithPatch() {
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        final Client recording = recordingClient(requests);
+        final SolidClient customClient = SolidClient.getClientBuilder().client(recording)
+            .fetchAfterWrite(false).trackChanges(true).build();
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+
+        try (final Playlist playlist = customClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            // An unchanged resource is sent in full
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+            playlist.setTitle("Updated playlist");
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+            // The snapshot follows the successful update
+            assertTrue(playlist.diff().orElseThrow().isEmpty());
+        }
+        assertEquals(List.of("GET ", "PUT text/turtle", "PATCH text/n3"), requests);
+    }
+
+    @Test
+    void testRepeatedUpdatesWithPatch() {
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        final SolidClient customClient = SolidClient.getClientBuilder().client(recordingClient(requests))
+            .trackChanges(true).build();
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+
+        try (final Playlist playlist = customClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            playlist.setTitle("Updated playlist");
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+            // The caller's resource reflects the stored changes, even though a fresh copy was fetched
+            assertTrue(playlist.diff().orElseThrow().isEmpty());
+
+            // The second patch only deletes what the first one inserted
+            playlist.setTitle("Another playlist");
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+        }
+        assertEquals(List.of("GET ", "PATCH text/n3", "GET ", "PATCH text/n3", "GET "), requests);
+    }
+
+    @Test
+    void testUpdateWithoutTracking() {
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        final SolidClient customClient = SolidClient.getClientBuilder().client(recordingClient(requests))
+            .fetchAfterWrite(false).build();
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+
+        try (final Playlist playlist = customClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            assertFalse(playlist.diff().isPresent());
+            playlist.setTitle("Updated playlist");
+            assertDoesNotThrow(customClient.update(playlist).toCompletableFuture()::join);
+        }
+        assertEquals(List.of("GET ", "PUT text/turtle"), requests);
+    }
+
+    @Test
+    void testPatchSerialization() {
+        final var subject = rdf.createIRI("https://example.test/resource");
+        final var title = rdf.createIRI("http://purl.org/dc/terms/title");
+        final var before = rdf.createQuad(null, subject, title, rdf.createLiteral("Before"));
+        final var after = rdf.createQuad(null, subject, title, rdf.createLiteral("After \"quoted\""));
+
+        final var dataset = rdf.createDataset();
+        dataset.add(after);
+        final SolidPatch patch = SolidPatch.diff(Set.of(before), dataset);
+        assertTrue(patch.isPatchable());
+        assertEquals(List.of(before), patch.getDeletes());
+        assertEquals(List.of(after), patch.getInserts());
+
+        final String n3 = patch.serialize(SolidPatch.N3_PATCH);
+        assertTrue(n3.contains("solid:deletes {\n    <https://example.test/resource> " +
+                    "<http://purl.org/dc/terms/title> \"Before\" .\n  }"));
+        assertTrue(n3.contains("solid:inserts {\n    <https://example.test/resource> " +
+                    "<http://purl.org/dc/terms/title> \"After \\\"quoted\\\"\" .\n  }"));
+
+        final String sparql = patch.serialize(SolidPatch.SPARQL_UPDATE);
+        assertTrue(sparql.startsWith("DELETE DATA {\n"));
+        assertTrue(sparql.contains("};\nINSERT DATA {\n"));
+
+        // Changes to blank nodes cannot be addressed in a patch
+        dataset.add(rdf.createQuad(null, rdf.createBlankNode(), title, rdf.createLiteral("Blank")));
+        assertFalse(SolidPatch.diff(Set.of(before), dataset).isPatchable());
+
+        assertEquals(Optional.of(SolidPatch.N3_PATCH),
+                SolidPatch.syntax(Set.of(SolidPatch.SPARQL_UPDATE, SolidPatch.N3_PATCH)));
+        assertEquals(Optional.of(SolidPatch.SPARQL_UPDATE), SolidPatch.syntax(Set.of(SolidPatch.SPARQL_UPDATE)));
+        assertFalse(SolidPatch.syntax(Set.of("text/turtle")).isPresent());
+    }
+
     @Test
     void testGetResource() throws IOException, InterruptedException {
         final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
@@ -191,6 +374,39 @@ class SolidClientTest {
 
     }
 
+    @Test
+    void testReadAll() {
+        final String base = config.get("solid_resource_uri");
+        final List<URI> uris = Arrays.asList(URI.create(base + "/playlist"), URI.create(base + "/missing"),
+                URI.create(base + "/recipe"), URI.create(base + "/forbidden"));
+
+        final List<ReadResult<SolidRDFSource>> results = client.readAll(uris, SolidRDFSource.class)
+            .toCompletableFuture().join();
+
+        assertEquals(uris, results.stream().map(ReadResult::getIdentifier).collect(Collectors.toList()));
+        assertTrue(results.get(0).isSuccess());
+        assertInstanceOf(NotFoundException.class, results.get(1).getError().orElse(null));
+        assertTrue(results.get(2).isSuccess());
+        assertInstanceOf(ForbiddenException.class, results.get(3).getError().orElse(null));
+        assertEquals(Optional.of(4L), results.get(0).getResource().map(SolidRDFSource::size));
+        results.forEach(result -> result.getResource().ifPresent(SolidRDFSource::close));
+    }
+
+    @Test
+    void testReadAllConsumer() {
+        final String base = config.get("solid_resource_uri");
+        final List<URI> uris = Arrays.asList(URI.create(base + "/playlist"), URI.create(base + "/recipe"),
+                URI.create(base + "/missing"));
+        final Set<URI> read = new HashSet<>();
+
+        client.readAll(uris, Headers.empty(), SolidRDFSource.class, 1, false, result -> {
+            read.add(result.getIdentifier());
+            result.getResource().ifPresent(SolidRDFSource::close);
+        }).toCompletableFuture().join();
+
+        assertEquals(new HashSet<>(uris), read);
+    }
+
     @Test
     void testGetContainer() throws IOException, InterruptedException {
         final URI uri = URI.create(config.get("solid_resource_uri") + "/playlists/");
@@ -314,7 +530,9 @@ class SolidClientTest {
         assertTrue(err1.getCause() instanceof SolidResourceException);
 
         final InvalidType type = new InvalidType(uri);
-        assertThrows(SolidResourceException.class, () -> client.update(type));
+        final CompletionException err2 = assertThrows(CompletionException.class,
+                client.update(type).toCompletableFuture()::join);
+        assertTrue(err2.getCause() instanceof SolidResourceException);
     }
 
     @Test
@@ -211,6 +211,24 @@ public class SolidMockHttpService {
             .willReturn(aResponse()
                 .withStatus(204)));
 
+        wireMockServer.stubFor(patch(urlEqualTo("/playlist"))
+            .withHeader("User-Agent", equalTo(USER_AGENT))
+            .withHeader("Content-Type", containing("text/n3"))
+            .withRequestBody(containing("solid:InsertDeletePatch"))
+            .withRequestBody(containing("\"My playlist\""))
+            .withRequestBody(containing("\"Updated playlist\""))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
+        wireMockServer.stubFor(patch(urlEqualTo("/playlist"))
+            .withHeader("User-Agent", equalTo(USER_AGENT))
+            .withHeader("Content-Type", containing("text/n3"))
+            .withRequestBody(containing("solid:deletes {\n    <" + wireMockServer.baseUrl()
+                        + "/playlist> <http://purl.org/dc/terms/title> \"Updated playlist\""))
+            .withRequestBody(containing("\"Another playlist\""))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
         wireMockServer.stubFor(delete(urlEqualTo("/playlist"))
             .withHeader("User-Agent", equalTo(USER_AGENT))
             .willReturn(aResponse()
@@ -20,8 +20,10 @@
  */
 package com.inrupt.client.solid;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.inrupt.client.Headers;
 import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
@@ -30,7 +32,9 @@ import com.inrupt.client.util.URIBuilder;
 import com.inrupt.client.vocabulary.LDP;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -122,6 +126,43 @@ class SolidRDFSourceTest {
         }
     }
 
+    @Test
+    void testHandlerParsesBody() {
+        final URI uri = URI.create("https://storage.example/resource");
+        final String body = "<https://storage.example/resource> <https://example.com/title> \"Title\" .";
+        final Response.ResponseInfo info = new Response.ResponseInfo() {
+            @Override
+            public Headers headers() {
+                return Headers.of(Collections.singletonMap("Content-Type", Arrays.asList("text/turtle")));
+            }
+
+            @Override
+            public URI uri() {
+                return uri;
+            }
+
+            @Override
+            public int statusCode() {
+                return 200;
+            }
+
+            @Override
+            public ByteBuffer body() {
+                return ByteBuffer.wrap(body.getBytes(UTF_8));
+            }
+
+            @Override
+            public InputStream bodyAsStream() {
+                throw new IllegalStateException("The body should not be parsed as it arrives");
+            }
+        };
+
+        try (final SolidRDFSource resource = SolidResourceHandlers.ofSolidRDFSource().apply(info)) {
+            assertEquals(uri, resource.getIdentifier());
+            assertEquals(1, resource.size());
+        }
+    }
+
     @Test
     void testGetOfSolidContainer() throws IOException, InterruptedException {
         final URI resource = URI.create(config.get("solid_resource_uri") + "/solid/");
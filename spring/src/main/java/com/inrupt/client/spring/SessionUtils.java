@@ -22,6 +22,7 @@ package com.inrupt.client.spring;
 
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.openid.OpenIdSession;
+import com.inrupt.client.openid.SessionRegistry;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -35,16 +36,19 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
  */
 public final class SessionUtils {
 
+    private static final SessionRegistry REGISTRY = new SessionRegistry();
+
     /**
      * Convert a Spring {@link OAuth2User} to a {@link Session} object.
      *
-     * <p>This method uses the {@link OpenIdSession} library to create a Session
+     * <p>This method uses the {@link OpenIdSession} library to create a Session. Sessions are reused
+     * for subsequent calls with the same, unexpired ID token.
      *
      * @param user the Spring user object
      * @return the session, if present and unexpired
      */
     public static Optional<Session> asSession(final OAuth2User user) {
-        return asSession(user, OpenIdSession::ofIdToken);
+        return asSession(user, token -> REGISTRY.get(token, OpenIdSession::ofIdToken));
     }
 
     /**
@@ -84,6 +84,17 @@ class SessionUtilsTest {
             assertEquals(Optional.of(URI.create(WEBID)), s.getPrincipal()));
     }
 
+    @Test
+    void testSessionReuse() {
+        final var token = generateIdToken("user", ISSUER, WEBID, Instant.now().plusSeconds(30));
+        final var oauthUser = new DefaultOidcUser(AuthorityUtils.NO_AUTHORITIES, token);
+        final var session1 = SessionUtils.asSession(oauthUser);
+        final var session2 = SessionUtils.asSession(oauthUser);
+        assertTrue(session1.isPresent());
+        assertSame(session1.get(), session2.get());
+        assertNotSame(session1.get(), SessionUtils.asSession(oauthUser, OpenIdSession::ofIdToken).get());
+    }
+
     static OidcIdToken generateIdToken(final String sub, final String issuer, final String webid, final Instant exp) {
         try {
             final var jwk = PublicJsonWebKey.Factory
@@ -91,6 +91,12 @@ class HttpMockService {
                     .willReturn(aResponse()
                         .withStatus(201)));
 
+        wireMockServer.stubFor(post(urlEqualTo("/empty/"))
+                    .withHeader("Transfer-Encoding", absent())
+                    .withHeader("Expect", absent())
+                    .willReturn(aResponse()
+                        .withStatus(201)));
+
         wireMockServer.stubFor(get(urlEqualTo("/solid.png"))
                     .willReturn(aResponse()
                         .withHeader(CONTENT_TYPE, "image/png")
@@ -20,6 +20,7 @@
  */
 package com.inrupt.client.test;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.Request;
@@ -27,8 +28,12 @@ import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.spi.ServiceProvider;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +42,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * A {@code HttpService} class tester.
@@ -82,6 +88,44 @@ public class HttpServices {
         assertTrue(response.body().contains("Julie C. Sparks and David Widger"));
     }
 
+    @Test
+    void testSendOfInputStream() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/file");
+        final Request request = Request.newBuilder()
+            .uri(uri)
+            .GET()
+            .build();
+
+        final Response<InputStream> response = httpService.send(request,
+                Response.BodyHandlers.ofInputStream()).toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(uri, response.uri());
+        assertEquals(Optional.of(TEXT_PLAIN), response.headers().firstValue(CONTENT_TYPE));
+        try (final InputStream body = response.body()) {
+            assertTrue(new String(body.readAllBytes(), UTF_8).contains("Julie C. Sparks and David Widger"));
+        }
+    }
+
+    @Test
+    void testSendOfFile(@TempDir final Path dir) throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/solid.png");
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .GET()
+                .build();
+
+        final Path file = dir.resolve("solid.png");
+        final Response<Path> response = httpService.send(request, Response.BodyHandlers.ofFile(file))
+            .toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(file, response.body());
+        try (final InputStream expected = HttpServices.class.getResourceAsStream("/__files/SolidOS.png")) {
+            assertArrayEquals(expected.readAllBytes(), Files.readAllBytes(file));
+        }
+    }
+
     @Test
     void testSendRequestImage() throws IOException {
         final URI uri = URI.create(config.get(HTTP_URI) + "/solid.png");
@@ -119,6 +163,72 @@ public class HttpServices {
         assertFalse(response.headers().firstValue(CONTENT_TYPE).isPresent());
     }
 
+    @Test
+    void testPostStreamedTriple() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/rdf/");
+        final byte[] triple = "<http://example.test/s> <http://example.test/p> \"object\" .".getBytes(UTF_8);
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .header(CONTENT_TYPE, "text/turtle")
+                .POST(Request.BodyPublishers.ofInputStream(new ByteArrayInputStream(triple)))
+                .build();
+
+        final Response<Void> response = httpService.send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+        assertEquals(uri, response.uri());
+    }
+
+    @Test
+    void testPostStreamedTripleWithLength() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/rdf/");
+        final byte[] triple = "<http://example.test/s> <http://example.test/p> \"object\" .".getBytes(UTF_8);
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .header(CONTENT_TYPE, "text/turtle")
+                .POST(Request.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(triple), triple.length))
+                .build();
+
+        final Response<Void> response = httpService.send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+        assertEquals(uri, response.uri());
+    }
+
+    @Test
+    void testPostEmptyStreamWithLength() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/empty/");
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .POST(Request.BodyPublishers.ofInputStream(new ByteArrayInputStream(new byte[0]), 0))
+                .build();
+
+        final Response<Void> response = httpService.send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+    }
+
+    @Test
+    void testPostFile(@TempDir final Path dir) throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/rdf/");
+        final Path file = Files.writeString(dir.resolve("triple.ttl"),
+                "<http://example.test/s> <http://example.test/p> \"object\" .");
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .header(CONTENT_TYPE, "text/turtle")
+                .POST(Request.BodyPublishers.ofFile(file))
+                .build();
+
+        final Response<Void> response = httpService.send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+        assertEquals(uri, response.uri());
+    }
+
     @Test
     void testPatchTriple() throws IOException {
         final URI uri = URI.create(config.get(HTTP_URI) + "/rdf");
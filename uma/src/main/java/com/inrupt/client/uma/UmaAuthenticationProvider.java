@@ -169,45 +169,48 @@ public class UmaAuthenticationProvider implements AuthenticationProvider {
                 .thenCompose(metadata -> {
                     if (supportsProfile(metadata, ID_TOKEN)) {
                         // Pre-emptively push ID Token claims if supported
-                        final Optional<Credential> credential = session.getCredential(ID_TOKEN, request.uri());
-
-                        final ClaimToken claimToken = credential.map(cred ->
-                                ClaimToken.of(cred.getToken(), ID_TOKEN)).orElse(null);
-
-                        final TokenRequest req = new TokenRequest(ticket, null, null, claimToken,
-                                Collections.emptyList());
-                        LOGGER.debug("Pushing ID Token claims to token endpoint: {}", metadata.tokenEndpoint);
-                        return umaClient.token(metadata.tokenEndpoint, req, claimHandler::getToken)
-                            .thenCompose(token -> {
-                                // TODO this logic should be replaced with proper token negotiation
-                                final URI principal = credential.flatMap(Credential::getPrincipal).orElse(null);
-                                final String jkt = credential.flatMap(Credential::getProofThumbprint).orElse(null);
-                                if (insufficientScope(token) && supportsProfile(metadata, VERIFIABLE_CREDENTIAL)) {
-                                    // Push an Access Grant as a verifiable credential
-                                    final Optional<Credential> cred2 = session.getCredential(VERIFIABLE_CREDENTIAL,
-                                            request.uri());
-                                    if (cred2.isPresent()) {
-                                        final ClaimToken claimToken2 = ClaimToken.of(cred2.get().getToken(),
-                                                VERIFIABLE_CREDENTIAL);
-                                        final TokenRequest req2 = new TokenRequest(ticket, null, token.accessToken,
-                                                claimToken2, Collections.emptyList());
-                                        LOGGER.debug("Pushing Access Grant claims to token endpoint: {}",
-                                                metadata.tokenEndpoint);
-                                        return umaClient.token(metadata.tokenEndpoint, req2, claimHandler::getToken)
-                                            .thenApply(token2 -> new Credential(token2.tokenType, as,
-                                                        token2.accessToken, Instant.now().plusSeconds(token2.expiresIn),
-                                                        principal, jkt));
-                                    }
-                                }
-                                return CompletableFuture.completedFuture(new Credential(token.tokenType, as,
-                                            token.accessToken, Instant.now().plusSeconds(token.expiresIn),
-                                            principal, jkt));
-                            });
+                        return session.getCredentialAsync(ID_TOKEN, request.uri())
+                            .thenCompose(credential -> pushClaims(session, request, metadata, as, ticket,
+                                        credential.orElse(null)));
                     }
                     return CompletableFuture.completedFuture(null);
                 });
         }
 
+        CompletionStage<Credential> pushClaims(final Session session, final Request request,
+                final Metadata metadata, final URI as, final String ticket, final Credential credential) {
+            final ClaimToken claimToken = credential != null ? ClaimToken.of(credential.getToken(), ID_TOKEN) : null;
+
+            final TokenRequest req = new TokenRequest(ticket, null, null, claimToken, Collections.emptyList());
+            LOGGER.debug("Pushing ID Token claims to token endpoint: {}", metadata.tokenEndpoint);
+            return umaClient.token(metadata.tokenEndpoint, req, claimHandler::getToken)
+                .thenCompose(token -> {
+                    // TODO this logic should be replaced with proper token negotiation
+                    final URI principal = credential != null ? credential.getPrincipal().orElse(null) : null;
+                    final String jkt = credential != null ? credential.getProofThumbprint().orElse(null) : null;
+                    if (insufficientScope(token) && supportsProfile(metadata, VERIFIABLE_CREDENTIAL)) {
+                        // Push an Access Grant as a verifiable credential
+                        final Optional<Credential> cred2 = session.getCredential(VERIFIABLE_CREDENTIAL,
+                                request.uri());
+                        if (cred2.isPresent()) {
+                            final ClaimToken claimToken2 = ClaimToken.of(cred2.get().getToken(),
+                                    VERIFIABLE_CREDENTIAL);
+                            final TokenRequest req2 = new TokenRequest(ticket, null, token.accessToken,
+                                    claimToken2, Collections.emptyList());
+                            LOGGER.debug("Pushing Access Grant claims to token endpoint: {}",
+                                    metadata.tokenEndpoint);
+                            return umaClient.token(metadata.tokenEndpoint, req2, claimHandler::getToken)
+                                .thenApply(token2 -> new Credential(token2.tokenType, as,
+                                            token2.accessToken, Instant.now().plusSeconds(token2.expiresIn),
+                                            principal, jkt));
+                        }
+                    }
+                    return CompletableFuture.completedFuture(new Credential(token.tokenType, as,
+                                token.accessToken, Instant.now().plusSeconds(token.expiresIn),
+                                principal, jkt));
+                });
+        }
+
         @Override
         public String toString() {
             return getName();
@@ -158,16 +158,16 @@ public class UmaClient {
 
         final Request req = buildTokenRequest(tokenEndpoint, tokenRequest);
         return httpClient.send(req, Response.BodyHandlers.ofInputStream()).thenCompose(res -> {
-            try {
+            try (final InputStream input = res.body()) {
                 // Successful terminal state
                 if (SUCCESS == res.statusCode()) {
                     return CompletableFuture
-                            .completedFuture(jsonService.fromJson(res.body(), TokenResponse.class));
+                            .completedFuture(jsonService.fromJson(input, TokenResponse.class));
                 }
 
                 // Everything else is a 4xx response
                 // Attempt to read the error response as JSON
-                final ErrorResponse err = jsonService.fromJson(res.body(), ErrorResponse.class);
+                final ErrorResponse err = jsonService.fromJson(input, ErrorResponse.class);
 
                 if (err.error != null) {
                     return readErrorMessage(err, tokenEndpoint, tokenRequest.getScopes(), claimMapper, count);
@@ -259,15 +259,14 @@ public class UmaClient {
 
 
     private Metadata processMetadataResponse(final URI uri, final Response<InputStream> response) {
-        if (response.statusCode() == SUCCESS) {
-            try {
-                final Metadata metadata = jsonService.fromJson(response.body(), Metadata.class);
+        try (final InputStream input = response.body()) {
+            if (response.statusCode() == SUCCESS) {
+                final Metadata metadata = jsonService.fromJson(input, Metadata.class);
                 metadataCache.put(uri, metadata);
                 return metadata;
-
-            } catch (final IOException ex) {
-                throw new UmaException("Error while processing UMA metadata response", ex);
             }
+        } catch (final IOException ex) {
+            throw new UmaException("Error while processing UMA metadata response", ex);
         }
         throw new UmaException("Unexpected response code during UMA discovery: " + response.statusCode());
     }